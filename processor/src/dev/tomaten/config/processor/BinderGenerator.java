@@ -0,0 +1,620 @@
+package dev.tomaten.config.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+
+/**
+ * Generates the source code of the binder for a single {@code @ConfigBinding} type.
+ */
+class BinderGenerator {
+	private final ProcessingEnvironment env;
+	private final TypeElement type;
+	private final String packageName;
+	private final String typeName;
+	private final String binderName;
+	
+	private final List<Member> members = new ArrayList<>();
+	private final Map<String, String> helperNames = new HashMap<>();
+	private final StringBuilder helpers = new StringBuilder();
+	// Which optional parts of the runtime are referenced by the generated code, so only the used imports are generated.
+	private boolean usesLists = false;
+	private boolean usesTransformers = false;
+	
+	public BinderGenerator(ProcessingEnvironment env, TypeElement type) {
+		this.env = env;
+		this.type = type;
+		PackageElement pkg = env.getElementUtils().getPackageOf(type);
+		this.packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		this.typeName = type.getQualifiedName().toString();
+		this.binderName = binderName(type);
+	}
+	
+	/**
+	 * Returns the simple name of the binder that is generated for the specified type.
+	 * For nested types, the names of the enclosing types are joined by {@code '_'}.
+	 */
+	static String binderName(TypeElement type) {
+		StringBuilder name = new StringBuilder(type.getSimpleName());
+		Element enclosing = type.getEnclosingElement();
+		while (enclosing instanceof TypeElement) {
+			name.insert(0, ((TypeElement) enclosing).getSimpleName() + "_");
+			enclosing = enclosing.getEnclosingElement();
+		}
+		return name.append("Binder").toString();
+	}
+	
+	public void generate() throws BindingException, IOException {
+		if (this.type.getModifiers().contains(Modifier.PRIVATE)) {
+			throw new BindingException("A @ConfigBinding type must not be private", this.type);
+		}
+		if (!this.type.getTypeParameters().isEmpty()) {
+			throw new BindingException("A @ConfigBinding type must not have type parameters", this.type);
+		}
+		if (this.type.getNestingKind().isNested() && !this.type.getModifiers().contains(Modifier.STATIC) &&
+				this.type.getKind() == ElementKind.CLASS) {
+			throw new BindingException("A nested @ConfigBinding class must be static", this.type);
+		}
+		
+		boolean isInterface = this.type.getKind() == ElementKind.INTERFACE;
+		if (isInterface) {
+			this.collectMethods();
+		}
+		else {
+			this.checkConstructor();
+			this.collectFields();
+		}
+		
+		StringBuilder body = new StringBuilder();
+		if (isInterface) {
+			this.generateInterfaceBinder(body);
+		}
+		else {
+			this.generateClassBinder(body);
+		}
+		// The imports depend on the generated code.
+		StringBuilder source = new StringBuilder();
+		this.generateImports(source);
+		source.append(body);
+		
+		String qualifiedBinderName = this.packageName.isEmpty() ? this.binderName : this.packageName + "." + this.binderName;
+		try (Writer writer = this.env.getFiler().createSourceFile(qualifiedBinderName, this.type).openWriter()) {
+			writer.write(source.toString());
+		}
+	}
+	
+	
+	// --- Members ---
+	
+	private static class Member {
+		private final Element element;
+		private final String name;
+		private final String path;
+		private final boolean optional;
+		private final TypeMirror type;
+		private final boolean hasDefault;
+		
+		public Member(Element element, String name, String path, boolean optional, TypeMirror type, boolean hasDefault) {
+			this.element = element;
+			this.name = name;
+			this.path = path;
+			this.optional = optional;
+			this.type = type;
+			this.hasDefault = hasDefault;
+		}
+	}
+	
+	private void collectMethods() throws BindingException {
+		for (ExecutableElement method : this.interfaceMethods()) {
+			boolean isDefault = method.getModifiers().contains(Modifier.DEFAULT);
+			AnnotationMirror key = findAnnotation(method, ConfigBindingProcessor.CONFIG_KEY);
+			if (isDefault && key == null) {
+				continue;
+			}
+			if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty() ||
+					method.getReturnType().getKind() == TypeKind.VOID) {
+				throw new BindingException("Bound methods must have a return type and no parameters", method);
+			}
+			String name = method.getSimpleName().toString();
+			String path = annotationString(key, "value", "");
+			if (path.isEmpty()) {
+				path = propertyName(name);
+			}
+			boolean optional = annotationBoolean(key, "optional", false);
+			// The return type as seen from the bound interface, e.g. with the type arguments of a generic super-interface.
+			ExecutableType methodType = (ExecutableType) this.env.getTypeUtils().asMemberOf((DeclaredType) this.type.asType(), method);
+			this.members.add(new Member(method, name, path, optional, methodType.getReturnType(), isDefault));
+		}
+	}
+	
+	/**
+	 * Returns the instance methods of the bound interface, including the methods inherited from its super-interfaces.
+	 * Methods that are overridden by another method of the interface and the methods of {@code Object} are excluded.
+	 */
+	private List<ExecutableElement> interfaceMethods() {
+		Elements elements = this.env.getElementUtils();
+		TypeElement objectType = elements.getTypeElement("java.lang.Object");
+		List<ExecutableElement> objectMethods = ElementFilter.methodsIn(objectType.getEnclosedElements());
+		
+		List<ExecutableElement> methods = new ArrayList<>();
+		candidates: for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(this.type))) {
+			if (method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE) ||
+					method.getEnclosingElement().equals(objectType)) {
+				continue;
+			}
+			for (ExecutableElement objectMethod : objectMethods) {
+				if (elements.overrides(method, objectMethod, this.type)) {
+					continue candidates;
+				}
+			}
+			for (int i = 0; i < methods.size(); i++) {
+				ExecutableElement other = methods.get(i);
+				if (elements.overrides(other, method, this.type)) {
+					continue candidates;
+				}
+				if (elements.overrides(method, other, this.type)) {
+					methods.set(i, method);
+					continue candidates;
+				}
+				// Abstract methods of unrelated super-interfaces with the same signature are implemented once.
+				if (method.getSimpleName().equals(other.getSimpleName()) && method.getParameters().isEmpty() && other.getParameters().isEmpty()) {
+					continue candidates;
+				}
+			}
+			methods.add(method);
+		}
+		return methods;
+	}
+	
+	private void checkConstructor() throws BindingException {
+		if (this.type.getModifiers().contains(Modifier.ABSTRACT)) {
+			throw new BindingException("A @ConfigBinding class must not be abstract", this.type);
+		}
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(this.type.getEnclosedElements());
+		for (ExecutableElement constructor : constructors) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return;
+			}
+		}
+		throw new BindingException("A @ConfigBinding class must have a non-private constructor without parameters", this.type);
+	}
+	
+	private void collectFields() throws BindingException {
+		for (VariableElement field : ElementFilter.fieldsIn(this.type.getEnclosedElements())) {
+			if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+				continue;
+			}
+			if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+				throw new BindingException("Bound fields must not be private or final", field);
+			}
+			AnnotationMirror key = findAnnotation(field, ConfigBindingProcessor.CONFIG_KEY);
+			String name = field.getSimpleName().toString();
+			String path = annotationString(key, "value", "");
+			if (path.isEmpty()) {
+				path = name;
+			}
+			boolean optional = annotationBoolean(key, "optional", false);
+			this.members.add(new Member(field, name, path, optional, field.asType(), false));
+		}
+	}
+	
+	/**
+	 * Derives the config key from a method name by removing a {@code get} or {@code is} prefix.
+	 */
+	static String propertyName(String methodName) {
+		for (String prefix : new String[] { "get", "is" }) {
+			int n = prefix.length();
+			if (methodName.length() > n && methodName.startsWith(prefix) && Character.isUpperCase(methodName.charAt(n))) {
+				return Character.toLowerCase(methodName.charAt(n)) + methodName.substring(n + 1);
+			}
+		}
+		return methodName;
+	}
+	
+	
+	// --- Code generation ---
+	
+	private void generateImports(StringBuilder out) {
+		if (!this.packageName.isEmpty()) {
+			out.append("package ").append(this.packageName).append(";\n\n");
+		}
+		if (this.usesLists) {
+			out.append("import java.util.ArrayList;\n");
+			out.append("import java.util.Collections;\n");
+			out.append("import java.util.List;\n\n");
+		}
+		out.append("import dev.tomaten.config.AbstractConfig;\n");
+		out.append("import dev.tomaten.config.ConfigElement;\n");
+		out.append("import dev.tomaten.config.ConfigError;\n");
+		if (!this.members.isEmpty()) {
+			out.append("import dev.tomaten.config.ConfigPath;\n");
+		}
+		if (this.usesTransformers) {
+			out.append("import dev.tomaten.config.IConfig;\n");
+		}
+		out.append("\n");
+	}
+	
+	private void generateHeader(StringBuilder out) {
+		out.append("/**\n");
+		out.append(" * Binds {@link ").append(this.typeName).append("} from a config.\n");
+		out.append(" * <p>\n");
+		out.append(" * This class has been generated by the TomatenConfig annotation processor. Do not edit it.\n");
+		out.append(" */\n");
+		out.append("public final class ").append(this.binderName).append(" {\n");
+		for (int i = 0; i < this.members.size(); i++) {
+			out.append("\tprivate static final ConfigPath PATH_").append(i).append(" = ConfigPath.of(")
+				.append(stringLiteral(this.members.get(i).path)).append(");\n");
+		}
+		out.append("\t\n");
+		out.append("\tprivate ").append(this.binderName).append("() {\n");
+		out.append("\t}\n");
+		out.append("\t\n");
+		out.append("\t/**\n");
+		out.append("\t * Binds {@link ").append(this.typeName).append("} from the specified config.\n");
+		out.append("\t */\n");
+		out.append("\tpublic static ").append(this.typeName).append(" bind(AbstractConfig<?> config) throws ConfigError {\n");
+		out.append("\t\treturn bind(config.getData());\n");
+		out.append("\t}\n");
+		out.append("\t\n");
+		out.append("\t/**\n");
+		out.append("\t * Binds {@link ").append(this.typeName).append("} from the specified config element.\n");
+		out.append("\t */\n");
+		out.append("\tpublic static ").append(this.typeName).append(" bind(ConfigElement element) throws ConfigError {\n");
+		out.append("\t\tConfigElement e;\n");
+	}
+	
+	private void generateFooter(StringBuilder out) {
+		out.append(this.helpers);
+		if (this.usesLists) {
+			out.append("\t\n");
+			out.append("\tprivate static List<ConfigElement> requireList(ConfigElement e) throws ConfigError {\n");
+			out.append("\t\tif (e.getType() != ConfigElement.Type.LIST) {\n");
+			out.append("\t\t\tthrow new ConfigError(\"Invalid config value\" + forName(e) + \": Expected LIST, but found \" + e.getType());\n");
+			out.append("\t\t}\n");
+			out.append("\t\treturn e.getList();\n");
+			out.append("\t}\n");
+		}
+		if (!this.helperNames.isEmpty()) {
+			// The same form as the error messages of the library, which omit the name of the root.
+			out.append("\t\n");
+			out.append("\tprivate static String forName(ConfigElement e) {\n");
+			out.append("\t\tString fullName = e.getFullName();\n");
+			out.append("\t\treturn fullName.isEmpty() ? \"\" : \" for '\" + fullName + \"'\";\n");
+			out.append("\t}\n");
+		}
+		out.append("}\n");
+	}
+	
+	private void generateClassBinder(StringBuilder out) throws BindingException {
+		this.generateHeader(out);
+		out.append("\t\t").append(this.typeName).append(" target = new ").append(this.typeName).append("();\n");
+		for (int i = 0; i < this.members.size(); i++) {
+			Member member = this.members.get(i);
+			String expression = this.readExpression(member.type, "e", member.element);
+			if (member.optional) {
+				out.append("\t\te = PATH_").append(i).append(".getOrNull(element);\n");
+				out.append("\t\tif (e != null) {\n");
+				out.append("\t\t\ttarget.").append(member.name).append(" = ").append(expression).append(";\n");
+				out.append("\t\t}\n");
+			}
+			else {
+				out.append("\t\te = PATH_").append(i).append(".get(element);\n");
+				out.append("\t\ttarget.").append(member.name).append(" = ").append(expression).append(";\n");
+			}
+		}
+		out.append("\t\treturn target;\n");
+		out.append("\t}\n");
+		this.generateFooter(out);
+	}
+	
+	private void generateInterfaceBinder(StringBuilder out) throws BindingException {
+		this.generateHeader(out);
+		StringBuilder args = new StringBuilder();
+		for (int i = 0; i < this.members.size(); i++) {
+			Member member = this.members.get(i);
+			String expression = this.readExpression(member.type, "e", member.element);
+			String storageType = this.storageType(member);
+			if (member.optional) {
+				out.append("\t\te = PATH_").append(i).append(".getOrNull(element);\n");
+				out.append("\t\t").append(storageType).append(" v").append(i).append(" = e != null ? ")
+					.append(expression).append(" : null;\n");
+			}
+			else {
+				out.append("\t\te = PATH_").append(i).append(".get(element);\n");
+				out.append("\t\t").append(storageType).append(" v").append(i).append(" = ").append(expression).append(";\n");
+			}
+			args.append(i > 0 ? ", " : "").append("v").append(i);
+		}
+		out.append("\t\treturn new Impl(").append(args).append(");\n");
+		out.append("\t}\n");
+		out.append("\t\n");
+		
+		// Implementation of the interface
+		out.append("\tprivate static final class Impl implements ").append(this.typeName).append(" {\n");
+		for (int i = 0; i < this.members.size(); i++) {
+			out.append("\t\tprivate final ").append(this.storageType(this.members.get(i))).append(" v").append(i).append(";\n");
+		}
+		out.append("\t\t\n");
+		out.append("\t\tImpl(");
+		for (int i = 0; i < this.members.size(); i++) {
+			out.append(i > 0 ? ", " : "").append(this.storageType(this.members.get(i))).append(" v").append(i);
+		}
+		out.append(") {\n");
+		for (int i = 0; i < this.members.size(); i++) {
+			out.append("\t\t\tthis.v").append(i).append(" = v").append(i).append(";\n");
+		}
+		out.append("\t\t}\n");
+		for (int i = 0; i < this.members.size(); i++) {
+			Member member = this.members.get(i);
+			out.append("\t\t\n");
+			out.append("\t\t@Override\n");
+			out.append("\t\tpublic ").append(member.type.toString()).append(" ").append(member.name).append("() {\n");
+			if (!member.optional) {
+				out.append("\t\t\treturn this.v").append(i).append(";\n");
+			}
+			else if (member.hasDefault) {
+				out.append("\t\t\treturn this.v").append(i).append(" != null ? this.v").append(i).append(" : ")
+					.append(this.typeName).append(".super.").append(member.name).append("();\n");
+			}
+			else if (member.type.getKind().isPrimitive()) {
+				out.append("\t\t\treturn this.v").append(i).append(" != null ? this.v").append(i).append(" : ")
+					.append(zeroLiteral(member.type.getKind())).append(";\n");
+			}
+			else {
+				out.append("\t\t\treturn this.v").append(i).append(";\n");
+			}
+			out.append("\t\t}\n");
+		}
+		out.append("\t\t\n");
+		out.append("\t\t@Override\n");
+		out.append("\t\tpublic String toString() {\n");
+		out.append("\t\t\treturn \"").append(this.type.getSimpleName()).append("[");
+		for (int i = 0; i < this.members.size(); i++) {
+			Member member = this.members.get(i);
+			out.append(i > 0 ? ", " : "").append(member.name).append("=\" + this.").append(member.name).append("() + \"");
+		}
+		out.append("]\";\n");
+		out.append("\t\t}\n");
+		out.append("\t}\n");
+		this.generateFooter(out);
+	}
+	
+	/**
+	 * Returns the type that is used to store the value of the member in the generated implementation.
+	 * Optional primitive members are stored boxed, so {@code null} can represent a missing value.
+	 */
+	private String storageType(Member member) {
+		if (member.optional && member.type.getKind().isPrimitive()) {
+			return this.env.getTypeUtils().boxedClass((PrimitiveType) member.type).getQualifiedName().toString();
+		}
+		return member.type.toString();
+	}
+	
+	private static String zeroLiteral(TypeKind kind) {
+		switch (kind) {
+		case BOOLEAN:
+			return "false";
+		case LONG:
+			return "0L";
+		case FLOAT:
+			return "0.0f";
+		case DOUBLE:
+			return "0.0";
+		default:
+			return "0";
+		}
+	}
+	
+	/**
+	 * Returns a Java expression that reads a value of the specified type from the config element in the variable {@code var}.
+	 */
+	private String readExpression(TypeMirror type, String var, Element member) throws BindingException {
+		switch (type.getKind()) {
+		case BOOLEAN:
+			return var + ".getBoolean()";
+		case INT:
+			return var + ".getInt()";
+		case LONG:
+			return var + ".getLong()";
+		case DOUBLE:
+			return var + ".getDouble()";
+		case FLOAT:
+			return "(float) " + var + ".getDouble()";
+		case DECLARED:
+			break;
+		default:
+			throw new BindingException("Unsupported type for config binding: " + type, member);
+		}
+		
+		DeclaredType declaredType = (DeclaredType) type;
+		TypeElement typeElement = (TypeElement) declaredType.asElement();
+		String name = typeElement.getQualifiedName().toString();
+		switch (name) {
+		case "java.lang.String":
+			return var + ".getString()";
+		case "java.lang.Boolean":
+			return var + ".getBoolean()";
+		case "java.lang.Integer":
+			return var + ".getInt()";
+		case "java.lang.Long":
+			return var + ".getLong()";
+		case "java.lang.Double":
+			return var + ".getDouble()";
+		case "java.lang.Float":
+			return "(float) " + var + ".getDouble()";
+		case "java.time.ZonedDateTime":
+			this.usesTransformers = true;
+			return "IConfig.TRANSFORMER_DATE_TIME.transform(" + var + ", " + var + ".getType())";
+		case "java.time.LocalDate":
+			this.usesTransformers = true;
+			return "IConfig.TRANSFORMER_LOCAL_DATE.transform(" + var + ", " + var + ".getType())";
+		case "java.time.LocalTime":
+			this.usesTransformers = true;
+			return "IConfig.TRANSFORMER_LOCAL_TIME.transform(" + var + ", " + var + ".getType())";
+		case "dev.tomaten.config.ConfigElement":
+			return var;
+		case "java.util.List":
+			return this.listHelper(declaredType, member) + "(" + var + ")";
+		}
+		if (typeElement.getKind() == ElementKind.ENUM) {
+			return this.enumHelper(typeElement) + "(" + var + ")";
+		}
+		if (findAnnotation(typeElement, ConfigBindingProcessor.CONFIG_BINDING) != null) {
+			String binderPackage = this.env.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+			return (binderPackage.isEmpty() ? "" : binderPackage + ".") + binderName(typeElement) + ".bind(" + var + ")";
+		}
+		throw new BindingException("Unsupported type for config binding: " + type, member);
+	}
+	
+	private String listHelper(DeclaredType listType, Element member) throws BindingException {
+		String key = listType.toString();
+		String existing = this.helperNames.get(key);
+		if (existing != null) {
+			return existing;
+		}
+		if (listType.getTypeArguments().size() != 1 || listType.getTypeArguments().get(0).getKind() != TypeKind.DECLARED) {
+			throw new BindingException("Unsupported list type for config binding: " + listType, member);
+		}
+		TypeMirror elementType = listType.getTypeArguments().get(0);
+		this.usesLists = true;
+		String helperName = "list" + this.helperNames.size();
+		this.helperNames.put(key, helperName);
+		
+		String expression = this.readExpression(elementType, "item", member);
+		StringBuilder out = this.helpers;
+		out.append("\t\n");
+		out.append("\tprivate static List<").append(elementType).append("> ").append(helperName)
+			.append("(ConfigElement e) throws ConfigError {\n");
+		out.append("\t\tList<ConfigElement> elements = requireList(e);\n");
+		out.append("\t\tArrayList<").append(elementType).append("> list = new ArrayList<>(elements.size());\n");
+		out.append("\t\tfor (ConfigElement item : elements) {\n");
+		out.append("\t\t\tlist.add(").append(expression).append(");\n");
+		out.append("\t\t}\n");
+		out.append("\t\treturn Collections.unmodifiableList(list);\n");
+		out.append("\t}\n");
+		return helperName;
+	}
+	
+	private String enumHelper(TypeElement enumType) {
+		String name = enumType.getQualifiedName().toString();
+		String existing = this.helperNames.get(name);
+		if (existing != null) {
+			return existing;
+		}
+		String helperName = "enum" + this.helperNames.size();
+		this.helperNames.put(name, helperName);
+		
+		List<String> constants = new ArrayList<>();
+		for (Element enclosed : enumType.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+				constants.add(enclosed.getSimpleName().toString());
+			}
+		}
+		
+		StringBuilder out = this.helpers;
+		out.append("\t\n");
+		out.append("\tprivate static ").append(name).append(" ").append(helperName).append("(ConfigElement e) throws ConfigError {\n");
+		out.append("\t\tString name = e.getString();\n");
+		out.append("\t\tswitch (name) {\n");
+		for (String constant : constants) {
+			out.append("\t\tcase ").append(stringLiteral(constant)).append(":\n");
+			out.append("\t\t\treturn ").append(name).append(".").append(constant).append(";\n");
+		}
+		out.append("\t\tdefault:\n");
+		out.append("\t\t\tthrow new ConfigError(\"Invalid config value\" + forName(e) + \": '\" + name + \"' is not one of ")
+			.append(String.join(", ", constants)).append("\");\n");
+		out.append("\t\t}\n");
+		out.append("\t}\n");
+		return helperName;
+	}
+	
+	
+	// --- Utilities ---
+	
+	private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+	
+	private static Object annotationValue(AnnotationMirror mirror, String name) {
+		if (mirror == null) {
+			return null;
+		}
+		for (Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+	
+	private static String annotationString(AnnotationMirror mirror, String name, String defaultValue) {
+		Object value = annotationValue(mirror, name);
+		return value instanceof String ? (String) value : defaultValue;
+	}
+	
+	private static boolean annotationBoolean(AnnotationMirror mirror, String name, boolean defaultValue) {
+		Object value = annotationValue(mirror, name);
+		return value instanceof Boolean ? (Boolean) value : defaultValue;
+	}
+	
+	static String stringLiteral(String value) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				}
+				else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
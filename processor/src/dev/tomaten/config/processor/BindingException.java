@@ -0,0 +1,22 @@
+package dev.tomaten.config.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * Thrown if a binder cannot be generated for a type.
+ * The exception is reported as a compiler error at the associated element.
+ */
+class BindingException extends Exception {
+	private static final long serialVersionUID = 1L;
+	
+	private final transient Element element;
+	
+	public BindingException(String message, Element element) {
+		super(message);
+		this.element = element;
+	}
+	
+	public Element getElement() {
+		return this.element;
+	}
+}
@@ -0,0 +1,63 @@
+package dev.tomaten.config.processor;
+
+import java.io.IOException;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * An annotation processor that generates binder classes for types annotated with {@code dev.tomaten.config.ConfigBinding}.
+ * <p>
+ * The generated binders read all members directly from a {@code ConfigElement} using precompiled {@code ConfigPath}s
+ * and the primitive getters of the element. They do not use reflection at runtime.
+ * <p>
+ * This processor does not depend on the TomatenConfig classes itself. It only references them by name.
+ * Only its tests, which compile sample types and load the generated binders, use the library.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+@SupportedAnnotationTypes(ConfigBindingProcessor.CONFIG_BINDING)
+public class ConfigBindingProcessor extends AbstractProcessor {
+	static final String CONFIG_BINDING = "dev.tomaten.config.ConfigBinding";
+	static final String CONFIG_KEY = "dev.tomaten.config.ConfigKey";
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement bindingAnnotation = this.processingEnv.getElementUtils().getTypeElement(CONFIG_BINDING);
+		if (bindingAnnotation == null) {
+			return false;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(bindingAnnotation)) {
+			if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE) {
+				this.error("@ConfigBinding is only supported for classes and interfaces", element);
+				continue;
+			}
+			try {
+				new BinderGenerator(this.processingEnv, (TypeElement) element).generate();
+			} catch (BindingException e) {
+				this.error(e.getMessage(), e.getElement());
+			} catch (IOException e) {
+				this.error("Failed to write the binder: " + e.getMessage(), element);
+			}
+		}
+		return true;
+	}
+	
+	private void error(String message, Element element) {
+		this.processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+	}
+}
@@ -0,0 +1,251 @@
+package dev.tomaten.config.processor.test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigElement;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.TomatenConfig;
+import dev.tomaten.config.processor.ConfigBindingProcessor;
+
+class ConfigBindingProcessorTest {
+	private static final Pattern TYPE_NAME = Pattern.compile("public (?:final )?(?:class|interface|enum) (\\w+)");
+	
+	private static final String BASE = "package sample;\n" +
+			"public interface Base<T> {\n" +
+			"	T name();\n" +
+			"	int getPort();\n" +
+			"	String toString();\n" +
+			"}\n";
+	
+	private static final String DB = "package sample;\n" +
+			"import java.util.List;\n" +
+			"import dev.tomaten.config.*;\n" +
+			"@ConfigBinding\n" +
+			"public interface Db extends Base<String> {\n" +
+			"	@ConfigKey(value = \"pool.size\", optional = true)\n" +
+			"	default int poolSize() { return 10; }\n" +
+			"	@ConfigKey(optional = true)\n" +
+			"	Long timeout();\n" +
+			"	@ConfigKey(optional = true)\n" +
+			"	boolean isEnabled();\n" +
+			"	default String url() { return name() + \":\" + getPort(); }\n" +
+			"	List<String> tags();\n" +
+			"	Mode mode();\n" +
+			"	Replica primary();\n" +
+			"	List<Replica> replicas();\n" +
+			"	enum Mode { FAST, SAFE }\n" +
+			"	@ConfigBinding\n" +
+			"	class Replica {\n" +
+			"		String host;\n" +
+			"		@ConfigKey(optional = true) int port = 5432;\n" +
+			"		List<List<Integer>> weights;\n" +
+			"		transient int ignored;\n" +
+			"	}\n" +
+			"}\n";
+	
+	private static final String INPUT = "{ name: \"db\", port: 5432, tags: [\"a\", \"b\"], mode: \"SAFE\", primary: { host: \"p\", weights: [] }, " +
+			"replicas: [ { host: \"r1\", port: 1, weights: [[1, 2], [3]] }, { host: \"r2\", weights: [] } ] }";
+	
+	private Path dir;
+	
+	@BeforeEach
+	public void createDir() throws IOException {
+		this.dir = Files.createTempDirectory("tomatenconfig");
+	}
+	
+	@AfterEach
+	public void deleteDir() throws IOException {
+		try (Stream<Path> files = Files.walk(this.dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+	}
+	
+	/**
+	 * Compiles the specified sources with the processor.
+	 * The generated sources are written to {@code gen}, the classes to {@code classes}.
+	 */
+	private List<Diagnostic<? extends JavaFileObject>> compile(String... sources) throws IOException {
+		Path src = Files.createDirectories(this.dir.resolve("src"));
+		Path gen = Files.createDirectories(this.dir.resolve("gen"));
+		Path classes = Files.createDirectories(this.dir.resolve("classes"));
+		List<Path> files = new ArrayList<>();
+		for (String source : sources) {
+			Matcher matcher = TYPE_NAME.matcher(source);
+			assertTrue(matcher.find());
+			Path file = src.resolve(matcher.group(1) + ".java");
+			Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+			files.add(file);
+		}
+		
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+			List<String> options = asList("-classpath", System.getProperty("java.class.path"),
+					"-d", classes.toString(), "-s", gen.toString());
+			Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(files.stream().map(Path::toFile).toArray(File[]::new));
+			CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+			task.setProcessors(Collections.singletonList(new ConfigBindingProcessor()));
+			task.call();
+		}
+		return diagnostics.getDiagnostics();
+	}
+	
+	private static List<String> errors(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+		List<String> errors = new ArrayList<>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				errors.add(diagnostic.getMessage(Locale.ROOT));
+			}
+		}
+		return errors;
+	}
+	
+	private ClassLoader load() throws IOException {
+		URL classes = this.dir.resolve("classes").toUri().toURL();
+		return new URLClassLoader(new URL[] { classes }, ConfigBindingProcessorTest.class.getClassLoader());
+	}
+	
+	private String generated(String binderName) throws IOException {
+		return new String(Files.readAllBytes(this.dir.resolve("gen/sample/" + binderName + ".java")), StandardCharsets.UTF_8);
+	}
+	
+	private static Object bind(ClassLoader loader, String binderName, String input) throws Exception {
+		ConfigElement element = TomatenConfig.load(Config::new, input, ConfigType.JSON).getData();
+		try {
+			return loader.loadClass("sample." + binderName).getMethod("bind", ConfigElement.class).invoke(null, element);
+		} catch (InvocationTargetException e) {
+			throw (Exception) e.getCause();
+		}
+	}
+	
+	private static Object call(Object target, String methodName) throws Exception {
+		Class<?> type = target.getClass().getInterfaces().length > 0 ? target.getClass().getInterfaces()[0] : target.getClass();
+		return type.getMethod(methodName).invoke(target);
+	}
+	
+	private static Object field(Object target, String fieldName) throws Exception {
+		Field field = target.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		return field.get(target);
+	}
+	
+	
+	@Test
+	public void testInterface() throws Exception {
+		assertEquals(asList(), errors(this.compile(BASE, DB)));
+		ClassLoader loader = this.load();
+		Object db = bind(loader, "DbBinder", INPUT);
+		
+		// Inherited from Base<String>
+		assertEquals("db", call(db, "name"));
+		assertEquals(5432, call(db, "getPort"));
+		assertEquals("db:5432", call(db, "url"));
+		
+		// Missing optional values
+		assertEquals(10, call(db, "poolSize"));
+		assertNull(call(db, "timeout"));
+		assertEquals(false, call(db, "isEnabled"));
+		
+		assertEquals(asList("a", "b"), call(db, "tags"));
+		assertEquals("SAFE", call(db, "mode").toString());
+		
+		Object primary = call(db, "primary");
+		assertEquals("p", field(primary, "host"));
+		assertEquals(5432, field(primary, "port"));
+		List<?> replicas = (List<?>) call(db, "replicas");
+		assertEquals(2, replicas.size());
+		assertEquals("r1", field(replicas.get(0), "host"));
+		assertEquals(1, field(replicas.get(0), "port"));
+		assertEquals(asList(asList(1, 2), asList(3)), field(replicas.get(0), "weights"));
+		assertEquals(5432, field(replicas.get(1), "port"));
+		
+		Object tuned = bind(loader, "DbBinder", INPUT.replace("port: 5432,", "port: 5432, pool: { size: 4 }, timeout: 30, enabled: true,"));
+		assertEquals(4, call(tuned, "poolSize"));
+		assertEquals(30L, call(tuned, "timeout"));
+		assertEquals(true, call(tuned, "isEnabled"));
+	}
+	
+	@Test
+	public void testMissingAndInvalidValues() throws Exception {
+		assertEquals(asList(), errors(this.compile(BASE, DB)));
+		ClassLoader loader = this.load();
+		
+		ConfigError error = assertThrows(ConfigError.class, () -> bind(loader, "DbBinder", INPUT.replace("port: 5432,", "")));
+		assertEquals("Cannot access 'port': Not found", error.getMessage());
+		error = assertThrows(ConfigError.class, () -> bind(loader, "DbBinder", INPUT.replace("\"SAFE\"", "\"SLOW\"")));
+		assertEquals("Invalid config value for 'mode': 'SLOW' is not one of FAST, SAFE", error.getMessage());
+		error = assertThrows(ConfigError.class, () -> bind(loader, "DbBinder", INPUT.replace("[\"a\", \"b\"]", "\"a\"")));
+		assertEquals("Invalid config value for 'tags': Expected LIST, but found STRING", error.getMessage());
+		error = assertThrows(ConfigError.class, () -> bind(loader, "Db_ReplicaBinder", "{ port: 1, weights: [] }"));
+		assertEquals("Cannot access 'host': Not found", error.getMessage());
+	}
+	
+	@Test
+	public void testImports() throws Exception {
+		String dates = "package sample;\n" +
+				"import dev.tomaten.config.*;\n" +
+				"@ConfigBinding\n" +
+				"public class Dates {\n" +
+				"	java.time.LocalDate day;\n" +
+				"}\n";
+		assertEquals(asList(), errors(this.compile(BASE, DB, dates)));
+		
+		String db = this.generated("DbBinder");
+		assertFalse(db.contains("import dev.tomaten.config.IConfig;"));
+		assertTrue(db.contains("import java.util.List;"));
+		String dateBinder = this.generated("DatesBinder");
+		assertTrue(dateBinder.contains("import dev.tomaten.config.IConfig;"));
+		assertFalse(dateBinder.contains("import java.util.List;"));
+		
+		Object bound = bind(this.load(), "DatesBinder", "{ day: \"2026-10-19\" }");
+		assertEquals("2026-10-19", field(bound, "day").toString());
+	}
+	
+	@Test
+	public void testErrors() throws Exception {
+		String invalid = "package sample;\n" +
+				"import dev.tomaten.config.*;\n" +
+				"@ConfigBinding\n" +
+				"public interface Invalid extends Base<String> {\n" +
+				"	String host(int index);\n" +
+				"}\n";
+		assertEquals(asList("Bound methods must have a return type and no parameters"), errors(this.compile(BASE, invalid)));
+	}
+}
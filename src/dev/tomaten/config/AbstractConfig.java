@@ -28,7 +28,7 @@ import dev.tomaten.json.generic.JSONElement;
  * If you extend this class with a class {@code MyConfig}, this type parameter should be {@code MyConfig}.
  * In this case, {@code MyConfig} should be {@code final}, as it would not be possible to chose this type parameter accordingly.
  * 
- * @version 2025-03-03 last modified
+ * @version 2026-10-19 last modified
  * @version 2025-02-15 created
  * @since 1.0
  */
@@ -82,8 +82,21 @@ public abstract class AbstractConfig<Self extends AbstractConfig<Self>> implemen
 	 * @throws ConfigError If {@code allowNull} is false and the element is not found.
 	 */
 	private ConfigElement navigate(String name, boolean allowNull, boolean interpretDots) throws ConfigError {
+		return navigate(this.data, name, allowNull, interpretDots);
+	}
+	
+	/**
+	 * Navigates from the specified element to a sub-element.
+	 * @param root The element to start from. Not null.
+	 * @param name The name of the sub-element. Not null.
+	 * @param allowNull If it should be allowed to return null. If false and the element is not found, a {@link ConfigError} will be thrown.
+	 * @param interpretDots If dots in the name should be interpreted as separators. If false, the entire string is considered as a single element name.
+	 * @return The sub-element.
+	 * @throws ConfigError If {@code allowNull} is false and the element is not found.
+	 */
+	static ConfigElement navigate(ConfigElement root, String name, boolean allowNull, boolean interpretDots) throws ConfigError {
 		requireNotNull(name, "The name ...");
-		ConfigElement current = this.data;
+		ConfigElement current = root;
 		int n = name.length();
 		int start = 0;
 		int end = 0; // Initial value relevant for error messages
@@ -140,7 +153,7 @@ public abstract class AbstractConfig<Self extends AbstractConfig<Self>> implemen
 		return current;
 	}
 	
-	private Self newSubConfig(ConfigElement data) {
+	Self newSubConfig(ConfigElement data) {
 		Self newConfig = this.factory.get();
 		newConfig.init(this.factory, data);
 		return newConfig;
@@ -535,11 +548,67 @@ public abstract class AbstractConfig<Self extends AbstractConfig<Self>> implemen
 	}
 	
 	
+	@Override
+	public ConfigIndex<Self> indexBy(String key) throws ConfigError {
+		requireNotNull(key, "The key ...");
+		this.typeCheck(this.data, Type.LIST);
+		ConfigListIndex index = this.data instanceof ConfigList ? ((ConfigList) this.data).index(key) :
+			ConfigListIndex.build(this.data.getList(), key);
+		return new ConfigIndex<>(index, this.data.getFullName(), this::newSubConfig);
+	}
+	
+	
+	@Override
+	public Self with(String path, ConfigElement value) throws ConfigError {
+		requireNotNull(path, "The path ...");
+		requireNotNull(value, "The value ...");
+		return this.newSubConfig(ConfigTrees.set(this.data, path, value));
+	}
+	
+	@Override
+	public Self with(String path, String value) throws ConfigError {
+		requireNotNull(value, "The value ...");
+		return this.with(path, new ConfigString("", "", value, null));
+	}
+	
+	@Override
+	public Self with(String path, long value) throws ConfigError {
+		return this.with(path, new ConfigInt("", "", value, null));
+	}
+	
+	@Override
+	public Self with(String path, double value) throws ConfigError {
+		return this.with(path, new ConfigFloat("", "", value, null));
+	}
+	
+	@Override
+	public Self with(String path, boolean value) throws ConfigError {
+		return this.with(path, new ConfigBoolean("", "", value, null));
+	}
+	
+	@Override
+	public Self without(String path) throws ConfigError {
+		requireNotNull(path, "The path ...");
+		return this.newSubConfig(ConfigTrees.remove(this.data, path));
+	}
+	
+	
 	@Override
 	public String toString() {
 		return this.data.toString();
 	}
 	
+	/**
+	 * Returns a string representation of this configuration that is bounded in length and depth.
+	 * @param maxLength The maximum number of characters, not counting the truncation marker. Not negative.
+	 * @param maxDepth The maximum number of nested objects and lists whose elements are represented. Not negative.
+	 * @return The string representation. Not null.
+	 * @see ConfigElement#toString(int, int)
+	 */
+	public String toString(int maxLength, int maxDepth) {
+		return this.data.toString(maxLength, maxDepth);
+	}
+	
 	
 	@Override
 	public JSONElement toJSON() {
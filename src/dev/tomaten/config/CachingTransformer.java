@@ -0,0 +1,33 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+/**
+ * A {@link ConfigElementTransformer} that caches the results of another transformer on the transformed elements.
+ * 
+ * @param <V> The type of the resulting value.
+ * 
+ * @see ConfigElementTransformer#cacheable(ConfigElementTransformer)
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+class CachingTransformer<V> implements ConfigElementTransformer<V> {
+	private final ConfigElementTransformer<V> transformer;
+	
+	public CachingTransformer(ConfigElementTransformer<V> transformer) {
+		requireNotNull(transformer, "The transformer ...");
+		this.transformer = transformer;
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public V transform(ConfigElement element, ConfigElement.Type type) throws ConfigError {
+		ConfigElement.CachedValue cached = element.getCachedValue(this);
+		if (cached != null) {
+			return (V) cached.value;
+		}
+		V value = this.transformer.transform(element, type);
+		element.putCachedValue(this, value);
+		return value;
+	}
+}
@@ -0,0 +1,783 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import dev.tomaten.config.ConfigElement.Type;
+
+/**
+ * Writes and reads configurations in the compact binary format of {@link ConfigType#BINARY}.
+ * <p>
+ * The binary format is intended for configurations that are compiled once and loaded often,
+ * e.g. on many machines. Reading it does not require any parsing and it is usually smaller than the JSON representation.
+ * It contains the same information as the {@link ConfigElement} tree, including the {@link ConfigElement#getOriginalType() original types}.
+ * A binary configuration can also be {@link #map(Supplier, Path) mapped} into memory and used without reading it.
+ * <p>
+ * The encoding starts with the magic bytes {@code TCFG} and the {@link #FORMAT_VERSION}, followed by a string table
+ * that contains every key, string value and original type once, and by the offsets of the strings in the table.
+ * Elements refer to strings by their index in the table.
+ * Every element starts with a tag byte that contains its type and whether an original type follows.
+ * Objects and lists are followed by the length of their content in bytes and the number of their children.
+ * If they have more than 8 children, a table of their children follows. For objects, the table contains the hash, key and offset of every entry,
+ * sorted by hash. For lists, it contains the offset of every element. Smaller containers are searched sequentially using the lengths.
+ * Afterwards, the entries of objects follow as key and element, and the elements of lists as element.
+ * Integers are followed by their zigzag-encoded value and floats by the 8 bytes of their IEEE 754 representation.
+ * Lengths, offsets and the counts of containers with tables are 4-byte big-endian integers. All other numbers are unsigned varints.
+ * Names and full names are not stored, but derived from the keys and indices while reading.
+ * <pre>
+ * // Build step
+ * Files.write(Paths.get("app.tcfg"), ConfigBinary.toBytes(TomatenConfig.load(Config::new, Paths.get("app.toml"))));
+ * 
+ * // Edge node
+ * Config config = TomatenConfig.load(Config::new, Paths.get("app.tcfg"));
+ * </pre>
+ * Binary files are not found by their base names, so {@code app.tcfg} can be stored next to {@code app.toml}
+ * and {@code TomatenConfig.load(Config::new, dir, "app")} still loads {@code app.toml}.
+ * 
+ * @version 2026-10-19 created
+ * @since 1.0
+ */
+public final class ConfigBinary {
+	/**
+	 * The version of the binary format. Encodings with another version cannot be read.
+	 */
+	public static final int FORMAT_VERSION = 3;
+	
+	private static final byte[] MAGIC = { 'T', 'C', 'F', 'G' };
+	private static final int TAG_OBJECT = 0, TAG_LIST = 1, TAG_STRING = 2, TAG_INTEGER = 3, TAG_FLOAT = 4, TAG_FALSE = 5, TAG_TRUE = 6;
+	private static final int TAG_TYPE_MASK = 0x07, TAG_ORIGINAL_TYPE = 0x08, TAG_INDEXED = 0x10;
+	private static final int OBJECT_ENTRY_SIZE = 12, LIST_ENTRY_SIZE = 4;
+	// Smaller containers are searched sequentially, since a table would be larger than their content.
+	private static final int INDEX_THRESHOLD = 8;
+	
+	// Static class
+	private ConfigBinary() {
+	}
+	
+	/**
+	 * Encodes the specified configuration.
+	 * @param config The configuration. Not null.
+	 * @return The encoded bytes. Not null.
+	 * @throws ConfigError If the configuration contains an element of an unsupported type.
+	 */
+	public static byte[] toBytes(AbstractConfig<?> config) throws ConfigError {
+		requireNotNull(config, "The config ...");
+		return encode(config.getData());
+	}
+	
+	/**
+	 * Writes the encoding of the specified configuration to the specified {@link OutputStream}.
+	 * The stream is not closed.
+	 * @param config The configuration. Not null.
+	 * @param out The stream. Not null.
+	 * @throws ConfigError If the configuration contains an element of an unsupported type or the stream cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public static void write(AbstractConfig<?> config, OutputStream out) throws ConfigError {
+		requireNotNull(out, "The output stream ...");
+		byte[] data = toBytes(config);
+		try {
+			out.write(data);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to write the binary config", e);
+		}
+	}
+	
+	/**
+	 * Reads a configuration from its encoding.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param data The encoded bytes. Not null.
+	 * @return The configuration that was read. Not null.
+	 * @throws ConfigError If the data is not a valid encoding of the current {@link #FORMAT_VERSION}.
+	 */
+	public static <C extends AbstractConfig<C>> C read(Supplier<C> configFactory, byte[] data) throws ConfigError {
+		return read(configFactory, data, "");
+	}
+	
+	/**
+	 * Reads a part of a configuration from its encoding.
+	 * Only the element at the path is read. The elements along the path are looked up using their tables or lengths, all other elements are skipped.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param data The encoded bytes. Not null.
+	 * @param path The dot-separated path of the element to read. Not null. The empty string reads the whole configuration.
+	 * @return The configuration that represents the element at the path. Not null.
+	 * @throws ConfigError If the data is not a valid encoding of the current {@link #FORMAT_VERSION} or the path does not exist.
+	 */
+	public static <C extends AbstractConfig<C>> C read(Supplier<C> configFactory, byte[] data, String path) throws ConfigError {
+		requireNotNull(configFactory, "The config factory ...");
+		requireNotNull(data, "The data ...");
+		requireNotNull(path, "The path ...");
+		return newConfig(configFactory, decode(ByteBuffer.wrap(data), path, false));
+	}
+	
+	/**
+	 * Maps a binary configuration file into memory and returns a read-only view of it.
+	 * <p>
+	 * The file is not read. Objects and lists are views that look up their children directly in the mapped file,
+	 * and only the elements that are actually accessed are created. Object entries are found by a binary search over the hashes of their keys.
+	 * Since the operating system shares the pages of a mapped file, multiple processes that map the same file share a single copy in memory.
+	 * <p>
+	 * The file must not be modified or truncated while it is mapped. To update the configuration, replace the file, e.g. by an atomic move,
+	 * and map the new file. The mapping is released when the view is garbage collected.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param path The path of the binary configuration file. Not null.
+	 * @return The configuration. Not null.
+	 * @throws ConfigError If the file cannot be mapped, is larger than 2 GiB or does not start with a valid header.
+	 * Errors in the rest of the file are reported when the affected elements are accessed.
+	 */
+	public static <C extends AbstractConfig<C>> C map(Supplier<C> configFactory, Path path) throws ConfigError {
+		requireNotNull(configFactory, "The config factory ...");
+		requireNotNull(path, "The path ...");
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new ConfigError("The binary config file '" + path + "' is too large to be mapped");
+			}
+			// The mapping stays valid after the channel is closed.
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to map the config file '" + path + "'", e);
+		}
+		return newConfig(configFactory, decode(buffer, "", true));
+	}
+	
+	private static <C extends AbstractConfig<C>> C newConfig(Supplier<C> configFactory, ConfigElement element) throws ConfigError {
+		C config = configFactory.get();
+		requireNotNull(config, "The config factory returned null");
+		config.init(configFactory, element);
+		return config;
+	}
+	
+	/**
+	 * Encodes the specified element and its children.
+	 * @param root The element. Not null.
+	 * @return The encoded bytes. Not null.
+	 * @throws ConfigError If the tree contains an element of an unsupported type.
+	 */
+	static byte[] encode(ConfigElement root) throws ConfigError {
+		Encoder encoder = new Encoder();
+		encoder.writeInt(encoder.intern(root.getName()));
+		encoder.writeInt(encoder.intern(root.getFullName()));
+		encoder.writeElement(root);
+		
+		Encoder header = new Encoder();
+		header.write(MAGIC, 0, MAGIC.length);
+		header.writeVarint(FORMAT_VERSION);
+		int count = encoder.strings.size();
+		header.writeInt(count);
+		byte[][] bytes = new byte[count][];
+		int offset = 0;
+		for (int i = 0; i < count; i++) {
+			bytes[i] = encoder.strings.get(i).getBytes(StandardCharsets.UTF_8);
+			header.writeInt(offset);
+			offset += bytes[i].length;
+		}
+		header.writeInt(offset);
+		for (byte[] str : bytes) {
+			header.write(str, 0, str.length);
+		}
+		header.append(encoder);
+		return header.toByteArray();
+	}
+	
+	/**
+	 * Decodes an element and its children.
+	 * @param data The encoded bytes. Not null.
+	 * @return The root element. Not null.
+	 * @throws ConfigError If the data is not a valid encoding of the current {@link #FORMAT_VERSION}.
+	 */
+	static ConfigElement decode(byte[] data) throws ConfigError {
+		return decode(ByteBuffer.wrap(data), "", false);
+	}
+	
+	private static ConfigElement decode(ByteBuffer buffer, String path, boolean mapped) throws ConfigError {
+		Data data = new Data(buffer, !mapped);
+		int pos = data.getRootPos();
+		String name = data.getRootName();
+		String fullName = data.getRootFullName();
+		if (!path.isEmpty()) {
+			for (String key : path.split("\\.", -1)) {
+				pos = data.childPos(pos, key);
+				if (pos < 0) {
+					throw new ConfigError("Missing configuration key '" + key + "'" + (fullName.isEmpty() ? "" : " for '" + fullName + "'"));
+				}
+				name = key;
+				fullName = childFullName(fullName, key);
+			}
+		}
+		return data.element(pos, name, fullName, mapped);
+	}
+	
+	static String childFullName(String parentFullName, String key) {
+		return parentFullName.isEmpty() ? key : parentFullName + "." + key;
+	}
+	
+	
+	private static class Encoder extends ByteArrayOutputStream {
+		private final Map<String, Integer> indices = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+		
+		public int intern(String str) {
+			Integer index = this.indices.get(str);
+			if (index == null) {
+				index = this.strings.size();
+				this.strings.add(str);
+				this.indices.put(str, index);
+			}
+			return index;
+		}
+		
+		public void append(Encoder other) {
+			this.write(other.buf, 0, other.count);
+		}
+		
+		public void writeVarint(long value) {
+			while ((value & ~0x7FL) != 0) {
+				this.write((int) (value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			this.write((int) value);
+		}
+		
+		public void writeInt(int value) {
+			this.write(value >>> 24);
+			this.write(value >>> 16);
+			this.write(value >>> 8);
+			this.write(value);
+		}
+		
+		private void setInt(int pos, int value) {
+			this.buf[pos] = (byte) (value >>> 24);
+			this.buf[pos + 1] = (byte) (value >>> 16);
+			this.buf[pos + 2] = (byte) (value >>> 8);
+			this.buf[pos + 3] = (byte) value;
+		}
+		
+		// Writes the header of a container and reserves space for its table, which is filled while writing the children.
+		private int beginContainer(int size, int entrySize) {
+			this.writeInt(0);
+			int start = this.count;
+			if (entrySize == 0) {
+				this.writeVarint(size);
+				return start;
+			}
+			this.writeInt(size);
+			for (int i = 0; i < size * entrySize; i++) {
+				this.write(0);
+			}
+			return start;
+		}
+		
+		private void endContainer(int start) {
+			this.setInt(start - 4, this.count - start);
+		}
+		
+		public void writeElement(ConfigElement element) throws ConfigError {
+			Type type = element.getType();
+			int tag;
+			switch (type) {
+			case OBJECT:
+				tag = TAG_OBJECT;
+				break;
+			case LIST:
+				tag = TAG_LIST;
+				break;
+			case STRING:
+				tag = TAG_STRING;
+				break;
+			case INTEGER:
+				tag = TAG_INTEGER;
+				break;
+			case FLOAT:
+				tag = TAG_FLOAT;
+				break;
+			case BOOLEAN:
+				tag = element.getBoolean() ? TAG_TRUE : TAG_FALSE;
+				break;
+			default:
+				throw new ConfigError("Unsupported config element type " + type);
+			}
+			String[] keys = tag == TAG_OBJECT ? element.getKeys().toArray(new String[0]) : null;
+			int size = tag == TAG_OBJECT ? keys.length : element.size();
+			boolean indexed = (tag == TAG_OBJECT || tag == TAG_LIST) && size > INDEX_THRESHOLD;
+			String originalType = element.getOriginalType();
+			this.write(tag | (originalType != null ? TAG_ORIGINAL_TYPE : 0) | (indexed ? TAG_INDEXED : 0));
+			if (originalType != null) {
+				this.writeVarint(this.intern(originalType));
+			}
+			
+			switch (tag) {
+			case TAG_OBJECT: {
+				if (!indexed) {
+					int start = this.beginContainer(size, 0);
+					for (String key : keys) {
+						this.writeVarint(this.intern(key));
+						this.writeElement(element.getOrNull(key));
+					}
+					this.endContainer(start);
+					break;
+				}
+				// Sorted by hash, so readers can find the entries by a binary search.
+				Arrays.sort(keys, Comparator.comparingInt(String::hashCode));
+				int start = this.beginContainer(size, OBJECT_ENTRY_SIZE);
+				for (int i = 0; i < size; i++) {
+					int entry = start + 4 + i * OBJECT_ENTRY_SIZE;
+					this.setInt(entry, keys[i].hashCode());
+					this.setInt(entry + 4, this.intern(keys[i]));
+					this.setInt(entry + 8, this.count - start);
+					this.writeElement(element.getOrNull(keys[i]));
+				}
+				this.endContainer(start);
+				break;
+			}
+			case TAG_LIST: {
+				int start = this.beginContainer(size, indexed ? LIST_ENTRY_SIZE : 0);
+				for (int i = 0; i < size; i++) {
+					if (indexed) {
+						this.setInt(start + 4 + i * LIST_ENTRY_SIZE, this.count - start);
+					}
+					this.writeElement(element.getOrNull(i));
+				}
+				this.endContainer(start);
+				break;
+			}
+			case TAG_STRING:
+				this.writeVarint(this.intern(element.getString()));
+				break;
+			case TAG_INTEGER: {
+				long value = element.getLong();
+				this.writeVarint((value << 1) ^ (value >> 63));
+				break;
+			}
+			case TAG_FLOAT: {
+				long bits = Double.doubleToRawLongBits(element.getDouble());
+				this.writeInt((int) (bits >>> 32));
+				this.writeInt((int) bits);
+				break;
+			}
+			}
+		}
+	}
+	
+	
+	/**
+	 * The encoded bytes of a binary configuration.
+	 * All reads use absolute positions and check the bounds, so a Data can be shared by multiple threads.
+	 * <p>
+	 * Containers are addressed by the position of their child count, which directly follows the length of their content.
+	 */
+	static final class Data {
+		private final ByteBuffer buffer;
+		private final int limit;
+		private final int stringCount, offsetsPos, stringsPos;
+		// Null if the strings are read on access.
+		private final String[] strings;
+		private final int rootPos;
+		
+		Data(ByteBuffer buffer, boolean readStrings) throws ConfigError {
+			this.buffer = buffer;
+			this.limit = buffer.limit();
+			for (int i = 0; i < MAGIC.length; i++) {
+				if (this.readByte(i) != MAGIC[i]) {
+					throw new ConfigError("Invalid binary config: Missing magic bytes");
+				}
+			}
+			int[] cursor = { MAGIC.length };
+			int version = this.readVarint(cursor);
+			if (version != FORMAT_VERSION) {
+				throw new ConfigError("Invalid binary config: Unsupported format version " + version);
+			}
+			this.stringCount = this.readCount(cursor[0], 4);
+			this.offsetsPos = cursor[0] + 4;
+			this.stringsPos = this.offsetsPos + (this.stringCount + 1) * 4;
+			int stringsLength = this.readInt(this.stringsPos - 4);
+			this.require(this.stringsPos, stringsLength);
+			this.rootPos = this.stringsPos + stringsLength + 8;
+			this.require(this.rootPos, 1);
+			
+			if (readStrings) {
+				this.strings = new String[this.stringCount];
+				for (int i = 0; i < this.stringCount; i++) {
+					this.strings[i] = this.readString(i);
+				}
+			}
+			else {
+				this.strings = null;
+			}
+		}
+		
+		private void require(int pos, int length) throws ConfigError {
+			if (pos < 0 || length < 0 || pos > this.limit || length > this.limit - pos) {
+				throw new ConfigError("Invalid binary config: Unexpected end of data");
+			}
+		}
+		
+		private int readByte(int pos) throws ConfigError {
+			this.require(pos, 1);
+			return this.buffer.get(pos) & 0xFF;
+		}
+		
+		private int readInt(int pos) throws ConfigError {
+			this.require(pos, 4);
+			return this.buffer.getInt(pos);
+		}
+		
+		// Reads a count of items that take at least the specified number of bytes each.
+		private int readCount(int pos, int itemSize) throws ConfigError {
+			int count = this.readInt(pos);
+			if (count < 0 || count > (this.limit - pos - 4) / itemSize) {
+				throw new ConfigError("Invalid binary config: Count out of range");
+			}
+			return count;
+		}
+		
+		private long readVarlong(int[] cursor) throws ConfigError {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				int b = this.readByte(cursor[0]++);
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new ConfigError("Invalid binary config: Varint is too long");
+		}
+		
+		private int readVarint(int[] cursor) throws ConfigError {
+			long value = this.readVarlong(cursor);
+			if (value < 0 || value > Integer.MAX_VALUE) {
+				throw new ConfigError("Invalid binary config: Varint out of range");
+			}
+			return (int) value;
+		}
+		
+		// Returns the position of the string with the specified index in the buffer.
+		private int stringPos(int index) throws ConfigError {
+			if (index < 0 || index >= this.stringCount) {
+				throw new ConfigError("Invalid binary config: String index out of range");
+			}
+			int start = this.readInt(this.offsetsPos + index * 4);
+			int end = this.readInt(this.offsetsPos + index * 4 + 4);
+			if (start < 0 || end < start) {
+				throw new ConfigError("Invalid binary config: Invalid string offset");
+			}
+			this.require(this.stringsPos + start, end - start);
+			return this.stringsPos + start;
+		}
+		
+		private int stringLength(int index) {
+			return this.buffer.getInt(this.offsetsPos + index * 4 + 4) - this.buffer.getInt(this.offsetsPos + index * 4);
+		}
+		
+		private String readString(int index) throws ConfigError {
+			int pos = this.stringPos(index);
+			byte[] bytes = new byte[this.stringLength(index)];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = this.buffer.get(pos + i);
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+		
+		String string(int index) throws ConfigError {
+			if (this.strings != null) {
+				if (index < 0 || index >= this.strings.length) {
+					throw new ConfigError("Invalid binary config: String index out of range");
+				}
+				return this.strings[index];
+			}
+			return this.readString(index);
+		}
+		
+		private boolean stringEquals(int index, byte[] utf8) throws ConfigError {
+			int pos = this.stringPos(index);
+			if (this.stringLength(index) != utf8.length) {
+				return false;
+			}
+			for (int i = 0; i < utf8.length; i++) {
+				if (this.buffer.get(pos + i) != utf8[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		private int readTag(int pos) throws ConfigError {
+			int tag = this.readByte(pos);
+			if ((tag & ~(TAG_TYPE_MASK | TAG_ORIGINAL_TYPE | TAG_INDEXED)) != 0 || (tag & TAG_TYPE_MASK) > TAG_TRUE) {
+				throw new ConfigError("Invalid binary config: Unknown tag " + tag);
+			}
+			return tag;
+		}
+		
+		// Returns the position of the child count of the container at the specified position.
+		private int containerStart(int pos) throws ConfigError {
+			int[] cursor = { pos + 1 };
+			if ((this.readTag(pos) & TAG_ORIGINAL_TYPE) != 0) {
+				this.readVarint(cursor);
+			}
+			int length = this.readInt(cursor[0]);
+			int start = cursor[0] + 4;
+			if (length < 1) {
+				throw new ConfigError("Invalid binary config: Container length out of range");
+			}
+			this.require(start, length);
+			return start;
+		}
+		
+		// Returns the position after the element at the specified position.
+		private int skip(int pos) throws ConfigError {
+			int tag = this.readTag(pos);
+			int[] cursor = { pos + 1 };
+			if ((tag & TAG_ORIGINAL_TYPE) != 0) {
+				this.readVarint(cursor);
+			}
+			switch (tag & TAG_TYPE_MASK) {
+			case TAG_OBJECT:
+			case TAG_LIST: {
+				int start = this.containerStart(pos);
+				return start + this.readInt(start - 4);
+			}
+			case TAG_STRING:
+				this.readVarint(cursor);
+				return cursor[0];
+			case TAG_INTEGER:
+				this.readVarlong(cursor);
+				return cursor[0];
+			case TAG_FLOAT:
+				this.require(cursor[0], 8);
+				return cursor[0] + 8;
+			default:
+				return cursor[0];
+			}
+		}
+		
+		int size(int start, boolean indexed, boolean object) throws ConfigError {
+			if (indexed) {
+				return this.readCount(start, object ? OBJECT_ENTRY_SIZE : LIST_ENTRY_SIZE);
+			}
+			int[] cursor = { start };
+			int count = this.readVarint(cursor);
+			// Every child takes at least one byte.
+			this.require(cursor[0], count);
+			return count;
+		}
+		
+		// Returns the position of the first child of the specified container without a table.
+		private int firstChild(int start) throws ConfigError {
+			int[] cursor = { start };
+			this.readVarint(cursor);
+			return cursor[0];
+		}
+		
+		// Returns the position of the child that is referenced by the specified table entry.
+		private int tableChild(int start, int entryPos) throws ConfigError {
+			int offset = this.readInt(entryPos);
+			if (offset < 4 || offset >= this.readInt(start - 4)) {
+				throw new ConfigError("Invalid binary config: Child offset out of range");
+			}
+			return start + offset;
+		}
+		
+		/**
+		 * Returns the key indices and positions of all children of the specified container.
+		 * @return An array that contains the key index and position of every child in turn. The key indices of list elements are -1.
+		 */
+		int[] children(int start, boolean indexed, boolean object) throws ConfigError {
+			int size = this.size(start, indexed, object);
+			int[] children = new int[size * 2];
+			if (indexed) {
+				int entrySize = object ? OBJECT_ENTRY_SIZE : LIST_ENTRY_SIZE;
+				for (int i = 0; i < size; i++) {
+					int entryPos = start + 4 + i * entrySize;
+					children[2 * i] = object ? this.readInt(entryPos + 4) : -1;
+					children[2 * i + 1] = this.tableChild(start, object ? entryPos + 8 : entryPos);
+				}
+				return children;
+			}
+			int[] cursor = { this.firstChild(start) };
+			for (int i = 0; i < size; i++) {
+				children[2 * i] = object ? this.readVarint(cursor) : -1;
+				children[2 * i + 1] = cursor[0];
+				cursor[0] = this.skip(cursor[0]);
+			}
+			return children;
+		}
+		
+		// Returns the position of the entry with the specified key in the specified object, or -1.
+		int findChild(int start, boolean indexed, String key) throws ConfigError {
+			byte[] utf8 = null;
+			if (!indexed) {
+				int size = this.size(start, false, true);
+				int[] cursor = { this.firstChild(start) };
+				for (int i = 0; i < size; i++) {
+					int keyIndex = this.readVarint(cursor);
+					if (utf8 == null) {
+						utf8 = key.getBytes(StandardCharsets.UTF_8);
+					}
+					if (this.stringEquals(keyIndex, utf8)) {
+						return cursor[0];
+					}
+					cursor[0] = this.skip(cursor[0]);
+				}
+				return -1;
+			}
+			
+			int hash = key.hashCode();
+			int low = 0;
+			int high = this.size(start, true, true) - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int midHash = this.readInt(start + 4 + mid * OBJECT_ENTRY_SIZE);
+				if (midHash < hash) {
+					low = mid + 1;
+				}
+				else if (midHash > hash) {
+					high = mid - 1;
+				}
+				else {
+					// Compare the keys of all entries with the same hash.
+					while (mid > 0 && this.readInt(start + 4 + (mid - 1) * OBJECT_ENTRY_SIZE) == hash) {
+						mid--;
+					}
+					utf8 = key.getBytes(StandardCharsets.UTF_8);
+					for (int i = mid; i <= high && this.readInt(start + 4 + i * OBJECT_ENTRY_SIZE) == hash; i++) {
+						int entryPos = start + 4 + i * OBJECT_ENTRY_SIZE;
+						if (this.stringEquals(this.readInt(entryPos + 4), utf8)) {
+							return this.tableChild(start, entryPos + 8);
+						}
+					}
+					return -1;
+				}
+			}
+			return -1;
+		}
+		
+		// Returns the position of the element with the specified index in the specified list. The index must be valid.
+		int listChild(int start, boolean indexed, int index) throws ConfigError {
+			if (indexed) {
+				return this.tableChild(start, start + 4 + index * LIST_ENTRY_SIZE);
+			}
+			int pos = this.firstChild(start);
+			for (int i = 0; i < index; i++) {
+				pos = this.skip(pos);
+			}
+			return pos;
+		}
+		
+		// Returns the position of the child of the element at the specified position, or -1 if it does not exist.
+		int childPos(int pos, String key) throws ConfigError {
+			int tag = this.readTag(pos);
+			boolean indexed = (tag & TAG_INDEXED) != 0;
+			switch (tag & TAG_TYPE_MASK) {
+			case TAG_OBJECT:
+				return this.findChild(this.containerStart(pos), indexed, key);
+			case TAG_LIST: {
+				int start = this.containerStart(pos);
+				int index;
+				try {
+					index = Integer.parseInt(key);
+				} catch (NumberFormatException e) {
+					return -1;
+				}
+				return index >= 0 && index < this.size(start, indexed, false) ? this.listChild(start, indexed, index) : -1;
+			}
+			default:
+				return -1;
+			}
+		}
+		
+		/**
+		 * Reads the element at the specified position.
+		 * @param pos The position of the tag of the element.
+		 * @param name The name of the element. Not null.
+		 * @param fullName The full name of the element. Not null.
+		 * @param view If objects and lists should be returned as views instead of reading their children.
+		 * @return The element. Not null.
+		 * @throws ConfigError If the data is invalid.
+		 */
+		ConfigElement element(int pos, String name, String fullName, boolean view) throws ConfigError {
+			int tag = this.readTag(pos);
+			int[] cursor = { pos + 1 };
+			String originalType = (tag & TAG_ORIGINAL_TYPE) != 0 ? this.string(this.readVarint(cursor)) : null;
+			boolean indexed = (tag & TAG_INDEXED) != 0;
+			switch (tag & TAG_TYPE_MASK) {
+			case TAG_OBJECT: {
+				int start = this.containerStart(pos);
+				if (view) {
+					return new MappedConfigElement(this, Type.OBJECT, start, indexed, name, fullName, originalType);
+				}
+				int[] children = this.children(start, indexed, true);
+				Map<String, ConfigElement> map = new HashMap<>();
+				for (int i = 0; i < children.length; i += 2) {
+					String key = this.string(children[i]);
+					map.put(key, this.element(children[i + 1], key, childFullName(fullName, key), false));
+				}
+				return new ConfigObject(name, fullName, map, originalType);
+			}
+			case TAG_LIST: {
+				int start = this.containerStart(pos);
+				if (view) {
+					return new MappedConfigElement(this, Type.LIST, start, indexed, name, fullName, originalType);
+				}
+				int[] children = this.children(start, indexed, false);
+				List<ConfigElement> list = new ArrayList<>(children.length / 2);
+				for (int i = 0; i < children.length; i += 2) {
+					String key = String.valueOf(i / 2);
+					list.add(this.element(children[i + 1], key, childFullName(fullName, key), false));
+				}
+				return new ConfigList(name, fullName, list, originalType);
+			}
+			case TAG_STRING: {
+				String value = this.string(this.readVarint(cursor));
+				if (ConfigTemporalString.isTemporalType(originalType)) {
+					return new ConfigTemporalString(name, fullName, value, originalType);
+				}
+				return new ConfigString(name, fullName, value, originalType);
+			}
+			case TAG_INTEGER: {
+				long value = this.readVarlong(cursor);
+				return new ConfigInt(name, fullName, (value >>> 1) ^ -(value & 1), originalType);
+			}
+			case TAG_FLOAT: {
+				long bits = ((long) this.readInt(cursor[0]) << 32) | (this.readInt(cursor[0] + 4) & 0xFFFFFFFFL);
+				return new ConfigFloat(name, fullName, Double.longBitsToDouble(bits), originalType);
+			}
+			case TAG_FALSE:
+				return new ConfigBoolean(name, fullName, false, originalType);
+			default:
+				return new ConfigBoolean(name, fullName, true, originalType);
+			}
+		}
+		
+		int getRootPos() {
+			return this.rootPos;
+		}
+		
+		String getRootName() throws ConfigError {
+			return this.string(this.readInt(this.rootPos - 8));
+		}
+		
+		String getRootFullName() throws ConfigError {
+			return this.string(this.readInt(this.rootPos - 4));
+		}
+	}
+}
@@ -0,0 +1,446 @@
+package dev.tomaten.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds config elements to instances of a class at runtime.
+ * <p>
+ * A ConfigBinder is a precomputed binding plan for a single target class.
+ * It holds the {@link ConfigPath}s, the {@link MethodHandle}s of the constructor and the field setters
+ * and the {@link ConfigElementTransformer}s that read the values.
+ * The plan is created once per class and cached using a {@link ClassValue},
+ * so reflection is only used when a class is bound for the first time.
+ * <p>
+ * The rules match the generated binders of {@link ConfigBinding}:
+ * All non-static, non-transient fields declared by the class are bound.
+ * The class must have a constructor without parameters and the fields must not be final.
+ * In contrast to the generated binders, private fields and constructors are supported.
+ * <p>
+ * The plan can also be used by a parser to bind the input directly, without creating the complete config tree.
+ * For this purpose, the fields are grouped by the first segment of their path.
+ * 
+ * @param <T> The type of the bound objects.
+ * 
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+final class ConfigBinder<T> {
+	private static final ClassValue<ConfigBinder<?>> BINDERS = new ClassValue<ConfigBinder<?>>() {
+		@Override
+		protected ConfigBinder<?> computeValue(Class<?> type) {
+			return create(type);
+		}
+	};
+	
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	
+	private final Class<T> type;
+	private final MethodHandle constructor;
+	private final String[] names;
+	private final ConfigPath[] paths;
+	private final boolean[] optional;
+	private final MethodHandle[] setters;
+	private final Value[] values;
+	
+	// Slots of fields with a single-segment path that no other path starts with.
+	private final Map<String, Integer> directSlots;
+	// Index of the group for the first segment of all other paths.
+	private final Map<String, Integer> groups;
+	private final int[][] groupSlots;
+	// The path that remains after the first segment. Null for single-segment paths.
+	private final ConfigPath[] suffixes;
+	
+	private ConfigBinder(Class<T> type, MethodHandle constructor, String[] names, ConfigPath[] paths, boolean[] optional,
+			MethodHandle[] setters, Value[] values) {
+		this.type = type;
+		this.constructor = constructor;
+		this.names = names;
+		this.paths = paths;
+		this.optional = optional;
+		this.setters = setters;
+		this.values = values;
+		
+		Map<String, List<Integer>> slotsByKey = new HashMap<>();
+		this.suffixes = new ConfigPath[paths.length];
+		for (int i = 0; i < paths.length; i++) {
+			List<String> segments = paths[i].getSegments();
+			slotsByKey.computeIfAbsent(segments.get(0), k -> new ArrayList<>()).add(i);
+			if (segments.size() > 1) {
+				this.suffixes[i] = ConfigPath.of(String.join(".", segments.subList(1, segments.size())));
+			}
+		}
+		this.directSlots = new HashMap<>();
+		this.groups = new HashMap<>();
+		List<int[]> groupSlots = new ArrayList<>();
+		for (Map.Entry<String, List<Integer>> entry : slotsByKey.entrySet()) {
+			List<Integer> slots = entry.getValue();
+			if (slots.size() == 1 && this.suffixes[slots.get(0)] == null) {
+				this.directSlots.put(entry.getKey(), slots.get(0));
+			}
+			else {
+				this.groups.put(entry.getKey(), groupSlots.size());
+				groupSlots.add(slots.stream().mapToInt(Integer::intValue).toArray());
+			}
+		}
+		this.groupSlots = groupSlots.toArray(new int[0][]);
+	}
+	
+	/**
+	 * Returns the binder for the specified class.
+	 * The binder is created on the first call and cached afterwards.
+	 * @param <T> The type of the bound objects.
+	 * @param type The class to bind. Not null.
+	 * @return The binder. Not null.
+	 * @throws ConfigError If the class cannot be bound.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ConfigBinder<T> of(Class<T> type) throws ConfigError {
+		return (ConfigBinder<T>) BINDERS.get(type);
+	}
+	
+	/**
+	 * Creates a new instance of the target class and reads all fields from the specified element.
+	 * @param element The element to read from. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If a required element is missing or cannot be converted.
+	 */
+	public T bind(ConfigElement element) throws ConfigError {
+		Object target = this.newInstance();
+		for (int i = 0; i < this.paths.length; i++) {
+			ConfigElement e;
+			if (this.optional[i]) {
+				e = this.paths[i].getOrNull(element);
+				if (e == null) {
+					continue;
+				}
+			}
+			else {
+				e = this.paths[i].get(element);
+			}
+			this.set(target, i, this.values[i].transformer.transform(e, e.getType()));
+		}
+		return this.type.cast(target);
+	}
+	
+	
+	// --- Direct binding by a parser ---
+	// A parser creates the target using newInstance() and reports the values of the direct slots using set().
+	// The elements of groups are collected and passed to finish(), which reads the remaining fields from them.
+	
+	/**
+	 * Creates a new uninitialized instance of the target class.
+	 * @return The instance. Not null.
+	 * @throws ConfigError If the constructor fails.
+	 */
+	Object newInstance() throws ConfigError {
+		try {
+			return (Object) this.constructor.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ConfigError("Failed to create an instance of " + this.type.getName(), e);
+		}
+	}
+	
+	/**
+	 * Sets the value of the field at the specified slot.
+	 * @param target The target object. Not null.
+	 * @param slot The slot of the field.
+	 * @param value The value. Not null.
+	 */
+	void set(Object target, int slot, Object value) throws ConfigError {
+		try {
+			this.setters[slot].invokeExact(target, value);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ConfigError("Failed to set the field " + this.type.getName() + "." + this.names[slot], e);
+		}
+	}
+	
+	/**
+	 * Returns the number of bound fields.
+	 * @return The number of slots.
+	 */
+	int size() {
+		return this.paths.length;
+	}
+	
+	/**
+	 * Returns the number of groups.
+	 * @return The number of groups.
+	 */
+	int groupCount() {
+		return this.groupSlots.length;
+	}
+	
+	/**
+	 * Returns the slot of the field that is read directly from the entry with the specified key.
+	 * @param key The key of the entry. Not null.
+	 * @return The slot. {@code -1} if the entry is not read directly.
+	 */
+	int directSlot(String key) {
+		Integer slot = this.directSlots.get(key);
+		return slot != null ? slot : -1;
+	}
+	
+	/**
+	 * Returns the group of the fields that are read from the element with the specified key.
+	 * @param key The key of the entry. Not null.
+	 * @return The group. {@code -1} if no field is read from the entry.
+	 */
+	int group(String key) {
+		Integer group = this.groups.get(key);
+		return group != null ? group : -1;
+	}
+	
+	/**
+	 * Returns the description of the value of the field at the specified slot.
+	 * @param slot The slot.
+	 * @return The value description. Not null.
+	 */
+	Value value(int slot) {
+		return this.values[slot];
+	}
+	
+	/**
+	 * Reads the fields of all groups and checks that all required fields are set.
+	 * @param target The target object. Not null.
+	 * @param set Indicates which slots have already been set. Not null.
+	 * @param groupElements The elements of the groups. Null entries indicate missing elements. Not null.
+	 * @param name The name of the element that has been bound. Not null.
+	 * @param fullName The full name of the element that has been bound. Not null.
+	 * @return The target object. Not null.
+	 * @throws ConfigError If a required field is missing or a value cannot be converted.
+	 */
+	T finish(Object target, boolean[] set, ConfigElement[] groupElements, String name, String fullName) throws ConfigError {
+		for (int g = 0; g < this.groupSlots.length; g++) {
+			ConfigElement element = groupElements[g];
+			if (element == null) {
+				continue;
+			}
+			for (int slot : this.groupSlots[g]) {
+				ConfigElement e = this.suffixes[slot] != null ? this.suffixes[slot].getOrNull(element) : element;
+				if (e != null) {
+					this.set(target, slot, this.values[slot].transformer.transform(e, e.getType()));
+					set[slot] = true;
+				}
+			}
+		}
+		for (int i = 0; i < set.length; i++) {
+			if (!set[i] && !this.optional[i]) {
+				// Navigate through the parts that have been read to produce the same error message as bind(ConfigElement).
+				HashMap<String, ConfigElement> map = new HashMap<>();
+				for (Map.Entry<String, Integer> entry : this.groups.entrySet()) {
+					ConfigElement element = groupElements[entry.getValue()];
+					if (element != null) {
+						map.put(entry.getKey(), element);
+					}
+				}
+				this.paths[i].get(new ConfigObject(name, fullName, map, null));
+				throw new ConfigError("Cannot access '" + this.paths[i] + "': Not found");
+			}
+		}
+		return this.type.cast(target);
+	}
+	
+	
+	private static <T> ConfigBinder<T> create(Class<T> type) throws ConfigError {
+		if (type.isInterface() || type.isPrimitive() || type.isArray() || type.isEnum() || Modifier.isAbstract(type.getModifiers())) {
+			throw new ConfigError("Cannot bind " + type.getName() + ": Only non-abstract classes can be bound at runtime");
+		}
+		if (type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers())) {
+			throw new ConfigError("Cannot bind " + type.getName() + ": Nested classes must be static");
+		}
+		
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle constructor;
+		try {
+			Constructor<T> c = type.getDeclaredConstructor();
+			c.setAccessible(true);
+			constructor = lookup.unreflectConstructor(c).asType(CONSTRUCTOR_TYPE);
+		} catch (NoSuchMethodException e) {
+			throw new ConfigError("Cannot bind " + type.getName() + ": No constructor without parameters found");
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new ConfigError("Cannot bind " + type.getName() + ": The constructor is not accessible", e);
+		}
+		
+		List<String> names = new ArrayList<>();
+		List<ConfigPath> paths = new ArrayList<>();
+		List<Boolean> optional = new ArrayList<>();
+		List<MethodHandle> setters = new ArrayList<>();
+		List<Value> values = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			int modifiers = field.getModifiers();
+			if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+				continue;
+			}
+			if (Modifier.isFinal(modifiers)) {
+				throw new ConfigError("Cannot bind " + type.getName() + ": The field '" + field.getName() + "' must not be final");
+			}
+			
+			ConfigKey key = field.getAnnotation(ConfigKey.class);
+			String path = key != null && !key.value().isEmpty() ? key.value() : field.getName();
+			Value value = value(field.getGenericType());
+			if (value == null) {
+				throw new ConfigError("Cannot bind " + type.getName() + ": Unsupported type of the field '" + field.getName() + "': " +
+						field.getGenericType().getTypeName());
+			}
+			
+			MethodHandle setter;
+			try {
+				field.setAccessible(true);
+				setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+			} catch (IllegalAccessException | RuntimeException e) {
+				throw new ConfigError("Cannot bind " + type.getName() + ": The field '" + field.getName() + "' is not accessible", e);
+			}
+			
+			names.add(field.getName());
+			paths.add(ConfigPath.of(path));
+			optional.add(key != null && key.optional());
+			setters.add(setter);
+			values.add(value);
+		}
+		
+		boolean[] optionalArray = new boolean[optional.size()];
+		for (int i = 0; i < optionalArray.length; i++) {
+			optionalArray[i] = optional.get(i);
+		}
+		return new ConfigBinder<>(type, constructor, names.toArray(new String[0]), paths.toArray(new ConfigPath[0]), optionalArray,
+				setters.toArray(new MethodHandle[0]), values.toArray(new Value[0]));
+	}
+	
+	/**
+	 * Returns the description of a value of the specified type.
+	 * @param type The type of the value. Not null.
+	 * @return The value description. Null if the type is not supported.
+	 */
+	private static Value value(Type type) {
+		if (type instanceof ParameterizedType) {
+			ParameterizedType parameterized = (ParameterizedType) type;
+			if (parameterized.getRawType() != List.class) {
+				return null;
+			}
+			Value item = value(parameterized.getActualTypeArguments()[0]);
+			if (item == null) {
+				return null;
+			}
+			ConfigElementTransformer<?> itemTransformer = item.transformer;
+			return new Value((element, elementType) -> {
+				if (elementType != ConfigElement.Type.LIST) {
+					throw new ConfigError(element.typeErrorMessage(ConfigElement.Type.LIST));
+				}
+				List<ConfigElement> elements = element.getList();
+				ArrayList<Object> list = new ArrayList<>(elements.size());
+				for (ConfigElement e : elements) {
+					list.add(itemTransformer.transform(e, e.getType()));
+				}
+				return Collections.unmodifiableList(list);
+			}, item, null);
+		}
+		if (!(type instanceof Class)) {
+			return null;
+		}
+		
+		Class<?> c = (Class<?>) type;
+		if (c == String.class) {
+			return new Value((element, elementType) -> element.getString(), null, null);
+		}
+		if (c == int.class || c == Integer.class) {
+			return new Value((element, elementType) -> element.getInt(), null, null);
+		}
+		if (c == long.class || c == Long.class) {
+			return new Value((element, elementType) -> element.getLong(), null, null);
+		}
+		if (c == double.class || c == Double.class) {
+			return new Value((element, elementType) -> element.getDouble(), null, null);
+		}
+		if (c == float.class || c == Float.class) {
+			return new Value((element, elementType) -> (float) element.getDouble(), null, null);
+		}
+		if (c == boolean.class || c == Boolean.class) {
+			return new Value((element, elementType) -> element.getBoolean(), null, null);
+		}
+		if (c == ZonedDateTime.class) {
+			return new Value(IConfig.TRANSFORMER_DATE_TIME, null, null);
+		}
+		if (c == LocalDate.class) {
+			return new Value(IConfig.TRANSFORMER_LOCAL_DATE, null, null);
+		}
+		if (c == LocalTime.class) {
+			return new Value(IConfig.TRANSFORMER_LOCAL_TIME, null, null);
+		}
+		if (c == ConfigElement.class) {
+			return new Value((element, elementType) -> element, null, null);
+		}
+		if (c.isEnum()) {
+			return new Value(enumTransformer(c), null, null);
+		}
+		if (c.isPrimitive() || c.isArray() || c.isInterface() || c.getName().startsWith("java.")) {
+			return null;
+		}
+		// Nested classes are resolved lazily, so recursive types do not recurse during the creation of the plan.
+		return new Value((element, elementType) -> of(c).bind(element), null, c);
+	}
+	
+	private static ConfigElementTransformer<?> enumTransformer(Class<?> enumType) {
+		Map<String, Object> constants = new HashMap<>();
+		StringBuilder names = new StringBuilder();
+		for (Object constant : enumType.getEnumConstants()) {
+			String name = ((Enum<?>) constant).name();
+			constants.put(name, constant);
+			names.append(names.length() > 0 ? ", " : "").append(name);
+		}
+		String constantNames = names.toString();
+		return (element, elementType) -> {
+			String name = element.getString();
+			Object constant = constants.get(name);
+			if (constant == null) {
+				// Like ConfigElement.typeErrorMessage, the name of the root is omitted.
+				String fullName = element.getFullName();
+				throw new ConfigError("Invalid config value" + (fullName.isEmpty() ? "" : " for '" + fullName + "'") + ": '" + name + "' is not one of " + constantNames);
+			}
+			return constant;
+		};
+	}
+	
+	/**
+	 * Describes how a value is read.
+	 */
+	static final class Value {
+		/**
+		 * Reads the value from a config element. Not null.
+		 */
+		final ConfigElementTransformer<?> transformer;
+		/**
+		 * The description of the items if the value is a list. Null otherwise.
+		 */
+		final Value item;
+		/**
+		 * The class that is bound recursively if the value is a nested object. Null otherwise.
+		 */
+		final Class<?> nested;
+		
+		private Value(ConfigElementTransformer<?> transformer, Value item, Class<?> nested) {
+			this.transformer = transformer;
+			this.item = item;
+			this.nested = nested;
+		}
+	}
+}
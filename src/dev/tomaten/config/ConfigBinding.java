@@ -0,0 +1,45 @@
+package dev.tomaten.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class or interface as a config binding.
+ * <p>
+ * If the TomatenConfig annotation processor is present at compile time,
+ * it generates a binder class named {@code <TypeName>Binder} in the same package
+ * (for nested types, the names of the enclosing types are joined by {@code '_'}).
+ * The binder reads all members directly from a {@link ConfigElement} and does not use reflection.
+ * <pre>
+ * &#64;ConfigBinding
+ * public interface DatabaseConfig {
+ *     String host();
+ *     int port();
+ *     &#64;ConfigKey(value = "pool.size", optional = true)
+ *     default int poolSize() { return 10; }
+ * }
+ * 
+ * DatabaseConfig db = DatabaseConfigBinder.bind(config.getObject("database").orError());
+ * </pre>
+ * <p>
+ * For an interface, all abstract methods without parameters are bound, including the methods inherited from super-interfaces.
+ * Default methods are only bound if they are annotated with {@link ConfigKey}.
+ * For a class, all non-static, non-transient fields are bound.
+ * The class must have a non-private constructor without parameters and the fields must not be private or final.
+ * <p>
+ * Supported member types are {@code String}, {@code int}, {@code long}, {@code double}, {@code float}, {@code boolean},
+ * their wrapper types, {@link java.time.ZonedDateTime}, {@link java.time.LocalDate}, {@link java.time.LocalTime},
+ * enums, {@link ConfigElement}, other types annotated with {@link ConfigBinding} and {@link java.util.List}s of these types.
+ * 
+ * @see ConfigKey
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConfigBinding {
+}
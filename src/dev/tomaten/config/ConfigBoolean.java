@@ -37,8 +37,9 @@ class ConfigBoolean extends ConfigElement {
 	}
 	
 	@Override
-	public String toString() {
-		return super.toString() + "=" + this.value;
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		sb.append('=').append(this.value);
 	}
 	
 	@Override
@@ -58,4 +59,9 @@ class ConfigBoolean extends ConfigElement {
 	public int hashCode() {
 		return Boolean.hashCode(this.value);
 	}
+	
+	@Override
+	protected long computeDigest() {
+		return this.value ? 0x7a5d3c1e9b2f4861L : 0x1f6e8a2c4d3b5907L;
+	}
 }
@@ -0,0 +1,21 @@
+package dev.tomaten.config;
+
+/**
+ * Listens for changes of a configuration in a {@link ConfigHolder}.
+ * 
+ * @param <C> The type of the configuration.
+ * 
+ * @see ConfigHolder#onChange(String, ConfigChangeListener)
+ * @since 1.0
+ */
+public interface ConfigChangeListener<C extends AbstractConfig<C>> {
+	
+	/**
+	 * Called after a configuration has been published that differs from the previous one at the subscribed path.
+	 * <p>
+	 * This method is called on the thread that published the new configuration.
+	 * @param oldSnapshot The previous snapshot. Not null.
+	 * @param newSnapshot The new snapshot. Not null.
+	 */
+	public void onChange(ConfigHolder.Snapshot<C> oldSnapshot, ConfigHolder.Snapshot<C> newSnapshot);
+}
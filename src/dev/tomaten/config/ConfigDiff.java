@@ -0,0 +1,144 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import dev.tomaten.config.ConfigElement.Type;
+
+/**
+ * The paths at which two config element trees differ.
+ * <p>
+ * The trees are compared structurally. Only the topmost differing path of each changed subtree is reported.
+ * For example, if a single entry of an object changed, only the path of that entry is reported, but not the path of the object.
+ * If the type of an element changed, only the path of the element is reported.
+ * <p>
+ * Subtrees with the same {@link ConfigElement#digest() digest} are skipped without comparing them,
+ * so the cost of a diff depends on the size of the changes rather than on the size of the trees,
+ * once the digests have been computed.
+ * <p>
+ * The paths are created from the keys of the compared objects, so keys that contain dots are not confused with nested entries.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public final class ConfigDiff {
+	private final List<ConfigPath> changedPaths;
+	
+	private ConfigDiff(List<ConfigPath> changedPaths) {
+		this.changedPaths = Collections.unmodifiableList(changedPaths);
+	}
+	
+	/**
+	 * Computes the differences between the specified elements.
+	 * @param oldElement The old element. Not null.
+	 * @param newElement The new element. Not null.
+	 * @return The diff. Not null.
+	 */
+	public static ConfigDiff between(ConfigElement oldElement, ConfigElement newElement) {
+		requireNotNull(oldElement, "The old element ...");
+		requireNotNull(newElement, "The new element ...");
+		return between(oldElement, newElement, false);
+	}
+	
+	/**
+	 * Computes the differences between the specified elements.
+	 * @param originalTypes If elements with different {@link ConfigElement#getOriginalType() original types} differ.
+	 * Used by {@link ConfigHolder}, so a value that only changed its original type, e.g. from a TOML string to a TOML date, is reported.
+	 */
+	static ConfigDiff between(ConfigElement oldElement, ConfigElement newElement, boolean originalTypes) {
+		List<ConfigPath> changed = new ArrayList<>();
+		diff(oldElement, newElement, originalTypes, new ArrayList<>(), changed);
+		return new ConfigDiff(changed);
+	}
+	
+	/**
+	 * Computes the differences between the specified configurations.
+	 * @param oldConfig The old configuration. Not null.
+	 * @param newConfig The new configuration. Not null.
+	 * @return The diff. Not null.
+	 */
+	public static ConfigDiff between(AbstractConfig<?> oldConfig, AbstractConfig<?> newConfig) {
+		requireNotNull(oldConfig, "The old config ...");
+		requireNotNull(newConfig, "The new config ...");
+		return between(oldConfig.getData(), newConfig.getData());
+	}
+	
+	/**
+	 * Returns the paths at which the elements differ.
+	 * The paths are relative to the compared elements. {@link ConfigPath#ROOT} represents the compared elements themselves.
+	 * @return An unmodifiable list of the changed paths. Not null. Empty if the elements are equal.
+	 */
+	public List<ConfigPath> getChangedPaths() {
+		return this.changedPaths;
+	}
+	
+	/**
+	 * Returns if the compared elements are equal.
+	 * @return If no path has changed.
+	 */
+	public boolean isEmpty() {
+		return this.changedPaths.isEmpty();
+	}
+	
+	@Override
+	public String toString() {
+		return "ConfigDiff" + this.changedPaths;
+	}
+	
+	
+	// The path is a stack of segments. ConfigPaths are only created for the changed paths.
+	private static void diff(ConfigElement a, ConfigElement b, boolean originalTypes, List<String> path, List<ConfigPath> changed) {
+		if (a == b || (originalTypes ? a.typedDigest() == b.typedDigest() : a.digest() == b.digest())) {
+			return;
+		}
+		Type type = a.getType();
+		if (type != b.getType() || (originalTypes && !Objects.equals(a.getOriginalType(), b.getOriginalType()))) {
+			changed.add(ConfigPath.ofSegments(path));
+			return;
+		}
+		switch (type) {
+		case OBJECT: {
+			Set<String> keys = new LinkedHashSet<>(a.getKeys());
+			keys.addAll(b.getKeys());
+			for (String key : keys) {
+				ConfigElement childA = a.getOrNull(key);
+				ConfigElement childB = b.getOrNull(key);
+				path.add(key);
+				if (childA == null || childB == null) {
+					changed.add(ConfigPath.ofSegments(path));
+				}
+				else {
+					diff(childA, childB, originalTypes, path, changed);
+				}
+				path.remove(path.size() - 1);
+			}
+			break;
+		}
+		case LIST: {
+			int sizeA = a.size();
+			int sizeB = b.size();
+			int n = Math.min(sizeA, sizeB);
+			for (int i = 0; i < Math.max(sizeA, sizeB); i++) {
+				path.add(String.valueOf(i));
+				if (i < n) {
+					diff(a.getOrNull(i), b.getOrNull(i), originalTypes, path, changed);
+				}
+				else {
+					changed.add(ConfigPath.ofSegments(path));
+				}
+				path.remove(path.size() - 1);
+			}
+			break;
+		}
+		default:
+			changed.add(ConfigPath.ofSegments(path));
+		}
+	}
+}
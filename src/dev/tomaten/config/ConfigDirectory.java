@@ -0,0 +1,175 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import dev.tomaten.config.TomatenConfig.FoundPath;
+
+/**
+ * A directory of configuration files that is indexed by the base names of the files.
+ * <p>
+ * The directory is listed once. Afterwards, configuration files are found without accessing the file system.
+ * The directory is watched using a {@link WatchService}. If files are created, deleted or renamed,
+ * the index is rebuilt on the next lookup, after the WatchService has reported the change.
+ * Some WatchService implementations report changes with a delay.
+ * If the directory cannot be listed, the index is rebuilt again on the following lookups until the listing succeeds.
+ * <p>
+ * Like {@link TomatenConfig#load(Supplier, Path, String)}, a {@link ConfigError} is thrown
+ * if multiple files with appropriate extensions have the requested base name.
+ * <p>
+ * A ConfigDirectory can be created using {@link TomatenConfig#openDirectory(Path)}.
+ * It should be {@link #close() closed} if it is not needed anymore. It is thread-safe.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public class ConfigDirectory implements AutoCloseable {
+	private final Path directory;
+	private final WatchService watchService;
+	// Both are guarded by this. The index is stale if changes have been reported but the directory has not been listed successfully since.
+	private Map<String, List<FoundPath>> index;
+	private boolean stale;
+	
+	/**
+	 * Indexes and starts watching the specified directory.
+	 * @param directory The directory. Not null.
+	 * @throws ConfigError If the directory cannot be listed or watched.
+	 */
+	ConfigDirectory(Path directory) throws ConfigError {
+		requireNotNull(directory, "The config directory ...");
+		this.directory = directory;
+		
+		WatchService watchService = null;
+		try {
+			// Register before listing, so changes during the listing are not missed.
+			watchService = FileSystems.getDefault().newWatchService();
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+			this.index = TomatenConfig.listConfigPaths(directory);
+		} catch (IOException | ConfigError e) {
+			if (watchService != null) {
+				try {
+					watchService.close();
+				} catch (IOException e2) {
+					e.addSuppressed(e2);
+				}
+			}
+			if (e instanceof ConfigError) {
+				throw (ConfigError) e;
+			}
+			throw new ConfigError("Failed to watch the config directory '" + directory + "'", e);
+		}
+		this.watchService = watchService;
+	}
+	
+	/**
+	 * Returns the directory.
+	 * @return The directory. Not null.
+	 */
+	public Path getDirectory() {
+		return this.directory;
+	}
+	
+	/**
+	 * Returns the base names of all configuration files in the directory.
+	 * @return An unmodifiable set of the base names. Not null.
+	 * @throws ConfigError If the index has to be rebuilt and the directory cannot be listed.
+	 */
+	public Set<String> getBaseNames() throws ConfigError {
+		return Collections.unmodifiableSet(this.index().keySet());
+	}
+	
+	/**
+	 * Returns the path of the configuration file with the specified base name.
+	 * @param configBaseName The base name of the configuration file, excluding the file extension. Not null.
+	 * @return The path. Null if no configuration file has the specified base name.
+	 * @throws ConfigError If the base name is ambiguous or the directory cannot be listed.
+	 */
+	public Path find(String configBaseName) throws ConfigError {
+		FoundPath found = this.findFile(configBaseName);
+		return found != null ? found.path : null;
+	}
+	
+	/**
+	 * Reads the configuration with the specified base name.
+	 * The file extension of the found file determines the parser that will be used.
+	 * The file is expected to be encoded in UTF-8.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param configBaseName The base name of the configuration file, excluding the file extension. Not null.
+	 * @return The configuration that was read. Not null.
+	 * @throws ConfigError If the configuration could not be found, read or parsed.
+	 * @see TomatenConfig#load(Supplier, Path, String)
+	 */
+	public <C extends AbstractConfig<C>> C load(Supplier<C> configFactory, String configBaseName) throws ConfigError {
+		FoundPath found = this.findFile(configBaseName);
+		if (found == null) {
+			throw new ConfigError("Config '" + configBaseName + "' not found at '" + this.directory + "'");
+		}
+		return TomatenConfig.load(configFactory, found.path, found.type);
+	}
+	
+	private FoundPath findFile(String configBaseName) throws ConfigError {
+		requireNotNull(configBaseName, "The config base name ...");
+		List<FoundPath> found = this.index().get(configBaseName);
+		if (found == null) {
+			return null;
+		}
+		if (found.size() > 1) {
+			throw TomatenConfig.ambiguousError(this.directory, configBaseName, found);
+		}
+		return found.get(0);
+	}
+	
+	private synchronized Map<String, List<FoundPath>> index() throws ConfigError {
+		// Events are only consumed while holding the lock, so a concurrent lookup waits for the new index instead of returning the old one.
+		boolean valid = true;
+		try {
+			// Polling does not block and does not access the file system.
+			WatchKey key;
+			while ((key = this.watchService.poll()) != null) {
+				this.stale = true;
+				key.pollEvents();
+				valid &= key.reset();
+			}
+		} catch (ClosedWatchServiceException e) {
+			// If closed, the directory is listed on every lookup.
+			valid = false;
+		}
+		
+		if (!valid) {
+			return TomatenConfig.listConfigPaths(this.directory);
+		}
+		if (this.stale) {
+			// If the listing fails, the index stays stale and the directory is listed again on the next lookup.
+			this.index = TomatenConfig.listConfigPaths(this.directory);
+			this.stale = false;
+		}
+		return this.index;
+	}
+	
+	/**
+	 * Stops watching the directory.
+	 * Afterwards, the directory is listed on every lookup.
+	 */
+	@Override
+	public void close() {
+		try {
+			this.watchService.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
@@ -2,6 +2,7 @@ package dev.tomaten.config;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import dev.tomaten.json.generic.JSONElement;
@@ -11,7 +12,7 @@ import dev.tomaten.json.generic.JSONElement;
  * <p>
  * Every {@link IConfig} is based on a ConfigElement and provides an extended API to interact with it.
  * 
- * @version 2025-03-15 last modified
+ * @version 2026-10-19 last modified
  * @version 2025-02-15 created
  * @since 1.0
  */
@@ -20,6 +21,13 @@ public abstract class ConfigElement {
 	private final String fullName;
 	private final String originalType;
 	
+	// Results of cacheable transformers. See ConfigElementTransformer.cacheable().
+	private volatile CachedValue cachedValues;
+	// Cached content digest. 0 if not computed yet.
+	private volatile long digest;
+	// Cached digest of the content and the original types. 0 if not computed yet.
+	private volatile long typedDigest;
+	
 	/**
 	 * Creates a new ConfigElement.
 	 * @param name The name of the config element. Not null.
@@ -252,9 +260,252 @@ public abstract class ConfigElement {
 	}
 	
 	
+	/**
+	 * Returns a 64-bit digest of the content of this element.
+	 * <p>
+	 * The digest is consistent with {@link #equals(Object)}: Equal elements have the same digest.
+	 * Like {@link #equals(Object)}, it ignores names and original types.
+	 * Elements with different digests are not equal. Elements with the same digest are equal with a very high probability.
+	 * <p>
+	 * The digest is computed once and cached. For objects and lists, it is computed from the digests of the child elements,
+	 * so unchanged subtrees that are shared between configurations do not have to be hashed again.
+	 * @return The digest. Not 0.
+	 */
+	public final long digest() {
+		long digest = this.digest;
+		if (digest == 0) {
+			digest = this.computeDigest();
+			if (digest == 0) {
+				digest = 1;
+			}
+			this.digest = digest;
+		}
+		return digest;
+	}
+	
+	/**
+	 * Computes the digest of this element. Called at most once per element by {@link #digest()}, except for races.
+	 * <p>
+	 * Subclasses should override this method if {@link #hashCode()} is expensive or has a poor distribution.
+	 * @return The digest.
+	 */
+	protected long computeDigest() {
+		return mixDigest(this.hashCode());
+	}
+	
+	/**
+	 * Returns a 64-bit digest of the content and the original types of this element and its children.
+	 * Unlike {@link #digest()}, elements that only differ in their original types have different digests,
+	 * e.g. a TOML string and a TOML date with the same text. The digest is computed once and cached.
+	 * @return The digest. Not 0.
+	 */
+	final long typedDigest() {
+		long digest = this.typedDigest;
+		if (digest == 0) {
+			String originalType = this.originalType;
+			digest = mixDigest(this.digest() * 31 + (originalType != null ? digestString(originalType) : 0));
+			Type type = this.getType();
+			if (type == Type.OBJECT) {
+				// The order of the entries is not relevant.
+				long sum = 0;
+				for (String key : this.getKeys()) {
+					sum += mixDigest(digestString(key) * 31 + this.getOrNull(key).typedDigest());
+				}
+				digest = mixDigest(digest ^ sum);
+			}
+			else if (type == Type.LIST) {
+				for (int i = 0, n = this.size(); i < n; i++) {
+					digest = mixDigest(digest * 31 + this.getOrNull(i).typedDigest());
+				}
+			}
+			if (digest == 0) {
+				digest = 1;
+			}
+			this.typedDigest = digest;
+		}
+		return digest;
+	}
+	
+	/**
+	 * Mixes the bits of the specified value. This is the finalizer of the 64-bit MurmurHash3.
+	 */
+	static long mixDigest(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+	
+	/**
+	 * Computes a 64-bit hash of the specified string.
+	 */
+	static long digestString(String value) {
+		long hash = 0xcbf29ce484222325L; // FNV-1a
+		for (int i = 0, n = value.length(); i < n; i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mixDigest(hash ^ value.length());
+	}
+	
+	
+	/**
+	 * Returns the cached value that has been stored for the specified key.
+	 * @param key The key. Compared by identity. Not null.
+	 * @return The cached value. Null if no value is cached for the key.
+	 */
+	CachedValue getCachedValue(Object key) {
+		for (CachedValue cached = this.cachedValues; cached != null; cached = cached.next) {
+			if (cached.key == key) {
+				return cached;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Caches the specified value for the specified key.
+	 * <p>
+	 * Concurrent calls may overwrite each other. In this case, the lost values are computed again on the next access.
+	 * @param key The key. Compared by identity. Not null.
+	 * @param value The value. May be null.
+	 */
+	void putCachedValue(Object key, Object value) {
+		CachedValue head = this.cachedValues;
+		// Limit the number of cached values, in case cacheable transformers are created dynamically.
+		if (head != null && head.depth >= CachedValue.MAX_DEPTH) {
+			head = null;
+		}
+		this.cachedValues = new CachedValue(key, value, head);
+	}
+	
+	static final class CachedValue {
+		private static final int MAX_DEPTH = 8;
+		
+		private final Object key;
+		final Object value;
+		private final CachedValue next;
+		private final int depth;
+		
+		private CachedValue(Object key, Object value, CachedValue next) {
+			this.key = key;
+			this.value = value;
+			this.next = next;
+			this.depth = next != null ? next.depth + 1 : 1;
+		}
+	}
+	
+	
+	/**
+	 * The marker that replaces the omitted part of a truncated string representation.
+	 */
+	static final String TRUNCATED = "...";
+	
+	/**
+	 * Returns a string representation of this element, including the elements it contains.
+	 * The result is not bounded. Use {@link #toString(int, int)} for large configurations.
+	 * <p>
+	 * String values are quoted, and quotes, backslashes, line breaks and tabs in them are escaped,
+	 * so a value cannot end the quotes or add lines to a log entry.
+	 */
 	@Override
 	public String toString() {
-		return this.fullName + "[" + this.getType().name() + (this.originalType != null ? "/" + this.originalType : "") + "]";
+		return this.toString(Integer.MAX_VALUE, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Returns a string representation of this element that is bounded in length and depth.
+	 * This is intended for logging configurations that may be large.
+	 * <p>
+	 * If the representation is longer than {@code maxLength}, it is cut after {@code maxLength} characters
+	 * and {@value #TRUNCATED} is appended. Objects and lists that are nested deeper than {@code maxDepth}
+	 * are represented without their elements, like {@code "a.b[OBJECT]={ ... }"}.
+	 * The elements are not rendered beyond the limits, so the cost is bounded too.
+	 * @param maxLength The maximum number of characters, not counting the truncation marker. Not negative.
+	 * @param maxDepth The maximum number of nested objects and lists whose elements are represented. Not negative.
+	 * {@code 0} represents only this element itself.
+	 * @return The string representation. Not null.
+	 */
+	public String toString(int maxLength, int maxDepth) {
+		if (maxLength < 0) {
+			throw new IllegalArgumentException("The maximum length must not be negative");
+		}
+		if (maxDepth < 0) {
+			throw new IllegalArgumentException("The maximum depth must not be negative");
+		}
+		StringBuilder sb = new StringBuilder(Math.min(maxLength, 1024) + TRUNCATED.length());
+		this.appendString(sb, maxLength, maxDepth);
+		if (sb.length() > maxLength) {
+			sb.setLength(maxLength);
+			sb.append(TRUNCATED);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends the string representation of this element to the specified {@link StringBuilder}.
+	 * Called by {@link #toString(int, int)}.
+	 * <p>
+	 * Implementations may stop appending as soon as the length of the builder exceeds {@code maxLength},
+	 * because the result is cut there anyway. They must not append the elements of nested objects or lists
+	 * if {@code maxDepth} is {@code 0}.
+	 * Subclasses should override this method to append the value of the element after the representation of the super class.
+	 * @param sb The builder. Not null.
+	 * @param maxLength The length of the builder at which the result is cut.
+	 * @param maxDepth The maximum number of nested objects and lists whose elements are appended.
+	 */
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		sb.append(this.fullName).append('[').append(this.getType().name());
+		if (this.originalType != null) {
+			sb.append('/').append(this.originalType);
+		}
+		sb.append(']');
+	}
+	
+	/**
+	 * Appends the specified children of an object or list, enclosed in braces or brackets.
+	 */
+	static void appendChildren(StringBuilder sb, boolean object, Iterable<ConfigElement> children, int maxLength, int maxDepth) {
+		sb.append(object ? "={ " : "=[ ");
+		if (maxDepth <= 0) {
+			sb.append(TRUNCATED);
+		}
+		else {
+			boolean first = true;
+			for (ConfigElement child : children) {
+				if (sb.length() > maxLength) {
+					return;
+				}
+				if (!first) {
+					sb.append(", ");
+				}
+				first = false;
+				child.appendString(sb, maxLength, maxDepth - 1);
+			}
+		}
+		sb.append(object ? " }" : " ]");
+	}
+	
+	/**
+	 * Returns the entries of the specified object in the order of {@link #getKeys()}.
+	 * The entries are looked up lazily.
+	 */
+	static Iterable<ConfigElement> entries(ConfigElement object) {
+		return () -> new Iterator<ConfigElement>() {
+			private final Iterator<String> keys = object.getKeys().iterator();
+			
+			@Override
+			public boolean hasNext() {
+				return this.keys.hasNext();
+			}
+			
+			@Override
+			public ConfigElement next() {
+				return object.getOrNull(this.keys.next());
+			}
+		};
 	}
 	
 	/**
@@ -71,7 +71,11 @@ abstract class ConfigElementBuilder {
 		return new ConfigElementBuilder(parent, key) {
 			@Override
 			public ConfigElement toElement() {
-				return new ConfigString(this.getKey(), this.getFullKey(), value, this.getOriginalType());
+				String originalType = this.getOriginalType();
+				if (ConfigTemporalString.isTemporalType(originalType)) {
+					return new ConfigTemporalString(this.getKey(), this.getFullKey(), value, originalType);
+				}
+				return new ConfigString(this.getKey(), this.getFullKey(), value, originalType);
 			}
 		};
 	}
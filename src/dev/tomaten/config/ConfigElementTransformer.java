@@ -10,6 +10,7 @@ package dev.tomaten.config;
  * 
  * @param <V> The type of the resulting value.
  * 
+ * @version 2026-10-18 last modified
  * @since 1.0
  */
 public interface ConfigElementTransformer<V> {
@@ -22,4 +23,24 @@ public interface ConfigElementTransformer<V> {
 	 * @throws ConfigError If the element cannot be transformed or if an error occurs during the transformation.
 	 */
 	public V transform(ConfigElement element, ConfigElement.Type type) throws ConfigError;
+	
+	/**
+	 * Returns a transformer that caches the results of the specified transformer per config element.
+	 * <p>
+	 * Config elements are immutable, so the result of a transformation only has to be computed once per element.
+	 * The first result is stored on the element and returned directly by later calls of the returned transformer.
+	 * Errors are not cached.
+	 * <p>
+	 * The specified transformer must only depend on the element and must return immutable values.
+	 * The returned transformer should be stored, for example in a constant, since the cache is keyed by its identity.
+	 * @param <V> The type of the resulting value.
+	 * @param transformer The transformer whose results should be cached. Not null.
+	 * @return The caching transformer. Not null.
+	 */
+	public static <V> ConfigElementTransformer<V> cacheable(ConfigElementTransformer<V> transformer) {
+		if (transformer instanceof CachingTransformer) {
+			return transformer;
+		}
+		return new CachingTransformer<>(transformer);
+	}
 }
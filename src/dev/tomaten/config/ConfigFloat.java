@@ -37,8 +37,9 @@ class ConfigFloat extends ConfigElement {
 	}
 	
 	@Override
-	public String toString() {
-		return super.toString() + "=" + this.value;
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		sb.append('=').append(this.value);
 	}
 	
 	@Override
@@ -58,4 +59,10 @@ class ConfigFloat extends ConfigElement {
 	public int hashCode() {
 		return Double.hashCode(this.value);
 	}
+	
+	@Override
+	protected long computeDigest() {
+		// 0.0 and -0.0 are equal
+		return mixDigest(0x464c4fL ^ mixDigest(this.value == 0.0 ? 0 : Double.doubleToLongBits(this.value)));
+	}
 }
@@ -0,0 +1,364 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current version of a configuration that may be replaced at runtime.
+ * <p>
+ * Every configuration that is {@link #publish(AbstractConfig) published} gets a new {@link Snapshot} with a monotonically increasing version number.
+ * Since configurations are immutable, a snapshot can be {@link #pin() pinned} to read consistent values across many calls,
+ * while new configurations are published in the background.
+ * <pre>
+ * ConfigHolder.Snapshot&lt;Config&gt; snapshot = holder.pin();
+ * Config config = snapshot.getConfig();
+ * String host = config.getString("db.host").orError();
+ * int port = config.getInt("db.port").orError(); // Same version as host
+ * </pre>
+ * <p>
+ * Reading is wait-free. It consists of a single volatile read and never blocks, even while a configuration is published.
+ * Publishing is lock-free.
+ * <p>
+ * {@link ConfigChangeListener}s can be subscribed to paths using {@link #onChange(String, ConfigChangeListener)}
+ * or {@link #onChange(ConfigPath, ConfigChangeListener)}.
+ * If a configuration is published, the paths that actually changed are computed by a structural comparison,
+ * and only the listeners subscribed to these paths are notified.
+ * <p>
+ * A ConfigHolder can keep a bounded {@link #setHistorySize(int) history} of previous snapshots.
+ * {@link #rollback()} publishes the configuration of the previous snapshot again without reading or parsing anything.
+ * 
+ * @param <C> The type of the configuration.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public class ConfigHolder<C extends AbstractConfig<C>> {
+	private final AtomicReference<Snapshot<C>> current;
+	// Sorted by segments, so the subscriptions below a changed path follow directly after it.
+	// The lists are replaced instead of modified, so the map updates them atomically. Paths without subscriptions are removed.
+	private final ConcurrentSkipListMap<ConfigPath, List<Subscription>> subscriptions = new ConcurrentSkipListMap<>(ConfigPath::compare);
+	private volatile int historySize = 0;
+	
+	/**
+	 * Creates a new ConfigHolder with the specified initial configuration.
+	 * The initial configuration has the version {@code 1}.
+	 * @param config The initial configuration. Not null.
+	 */
+	public ConfigHolder(C config) {
+		requireNotNull(config, "The config ...");
+		this.current = new AtomicReference<>(new Snapshot<>(config, 1, null));
+	}
+	
+	/**
+	 * Returns the current configuration.
+	 * <p>
+	 * Multiple calls may return different versions. Use {@link #pin()} to read a consistent version.
+	 * @return The current configuration. Not null.
+	 */
+	public C get() {
+		return this.current.get().config;
+	}
+	
+	/**
+	 * Returns the version of the current configuration.
+	 * @return The version. Positive.
+	 */
+	public long getVersion() {
+		return this.current.get().version;
+	}
+	
+	/**
+	 * Returns the current snapshot.
+	 * The snapshot and its configuration stay valid and unchanged, even if new configurations are published.
+	 * @return The current snapshot. Not null.
+	 */
+	public Snapshot<C> pin() {
+		return this.current.get();
+	}
+	
+	/**
+	 * Publishes the specified configuration as the current configuration.
+	 * @param config The new configuration. Not null.
+	 * @return The snapshot of the published configuration. Not null.
+	 * @throws RuntimeException If a {@link ConfigChangeListener} throws an exception. The configuration has been published anyway.
+	 */
+	public Snapshot<C> publish(C config) {
+		requireNotNull(config, "The config ...");
+		while (true) {
+			Snapshot<C> expected = this.current.get();
+			Snapshot<C> published = this.compareAndPublish(expected, config);
+			if (published != null) {
+				return published;
+			}
+		}
+	}
+	
+	/**
+	 * Publishes the specified configuration if the current snapshot is the expected snapshot.
+	 * This can be used to publish a configuration that has been derived from the expected snapshot.
+	 * @param expected The expected current snapshot. Not null.
+	 * @param config The new configuration. Not null.
+	 * @return The snapshot of the published configuration. Null if the current snapshot is not the expected snapshot.
+	 * @throws RuntimeException If a {@link ConfigChangeListener} throws an exception. The configuration has been published anyway.
+	 */
+	public Snapshot<C> compareAndPublish(Snapshot<C> expected, C config) {
+		requireNotNull(expected, "The expected snapshot ...");
+		requireNotNull(config, "The config ...");
+		int historySize = this.historySize;
+		Snapshot<C> snapshot = new Snapshot<>(config, expected.version + 1, historySize > 0 ? expected : null);
+		if (!this.current.compareAndSet(expected, snapshot)) {
+			return null;
+		}
+		trimHistory(snapshot, historySize);
+		this.notifyListeners(expected, snapshot);
+		return snapshot;
+	}
+	
+	
+	/**
+	 * Sets the number of previous snapshots that are kept for {@link #rollback()}.
+	 * <p>
+	 * The history is empty by default. Configurations that share unchanged elements,
+	 * e.g. configurations created by {@link IConfig#with(String, ConfigElement)} or reloaded by a {@link ReloadingConfig},
+	 * only cost the memory of their changed elements.
+	 * @param historySize The maximum number of previous snapshots. Not negative. {@code 0} disables the history.
+	 */
+	public void setHistorySize(int historySize) {
+		if (historySize < 0) {
+			throw new IllegalArgumentException("The history size must not be negative");
+		}
+		this.historySize = historySize;
+		trimHistory(this.current.get(), historySize);
+	}
+	
+	/**
+	 * Returns the maximum number of previous snapshots that are kept for {@link #rollback()}.
+	 * @return The history size. Not negative.
+	 */
+	public int getHistorySize() {
+		return this.historySize;
+	}
+	
+	/**
+	 * Returns the previous snapshots that are kept in the history.
+	 * @return The previous snapshots, the most recent first. Not null.
+	 */
+	public List<Snapshot<C>> getHistory() {
+		List<Snapshot<C>> history = new ArrayList<>();
+		Snapshot<C> snapshot = this.current.get().previous;
+		while (snapshot != null && history.size() < this.historySize) {
+			history.add(snapshot);
+			snapshot = snapshot.previous;
+		}
+		return history;
+	}
+	
+	/**
+	 * Publishes the configuration of the previous snapshot in the history again.
+	 * <p>
+	 * The rollback gets a new, higher version and replaces the current snapshot in the history,
+	 * so repeated rollbacks go back further in the history.
+	 * It only swaps a reference and does not read or parse anything.
+	 * @return The snapshot of the published configuration. Null if the history is empty.
+	 * @throws RuntimeException If a {@link ConfigChangeListener} throws an exception. The configuration has been published anyway.
+	 */
+	public Snapshot<C> rollback() {
+		while (true) {
+			Snapshot<C> expected = this.current.get();
+			Snapshot<C> target = expected.previous;
+			if (target == null) {
+				return null;
+			}
+			Snapshot<C> snapshot = new Snapshot<>(target.config, expected.version + 1, target.previous);
+			if (this.current.compareAndSet(expected, snapshot)) {
+				this.notifyListeners(expected, snapshot);
+				return snapshot;
+			}
+		}
+	}
+	
+	// Unlinks the snapshots that exceed the history size, so they can be garbage collected.
+	private static void trimHistory(Snapshot<?> snapshot, int historySize) {
+		for (int i = 0; i < historySize && snapshot != null; i++) {
+			snapshot = snapshot.previous;
+		}
+		if (snapshot != null) {
+			snapshot.previous = null;
+		}
+	}
+	
+	
+	/**
+	 * Subscribes the specified listener to changes at the specified path.
+	 * <p>
+	 * The listener is notified if a published configuration differs from the previous one at the path,
+	 * below the path, or if a parent element of the path has been replaced, e.g. by an element of another type.
+	 * The listener is called at most once per published configuration.
+	 * <p>
+	 * Listeners are called on the thread that publishes the configuration.
+	 * If a listener throws an exception, the other listeners are notified anyway and the exception is rethrown afterwards.
+	 * @param path The dot-separated path to the observed element. Not null. The empty string observes the entire configuration.
+	 * @param listener The listener. Not null.
+	 * @return The subscription. Can be {@link Subscription#close() closed} to unsubscribe the listener. Not null.
+	 * @see #onChange(ConfigPath, ConfigChangeListener)
+	 */
+	public Subscription onChange(String path, ConfigChangeListener<C> listener) {
+		requireNotNull(path, "The path ...");
+		return this.onChange(ConfigTrees.parse(path), listener);
+	}
+	
+	/**
+	 * Subscribes the specified listener to changes at the specified path.
+	 * This is needed to observe keys that contain dots. Otherwise, it is the same as {@link #onChange(String, ConfigChangeListener)}.
+	 * @param path The path to the observed element. Not null. {@link ConfigPath#ROOT} observes the entire configuration.
+	 * @param listener The listener. Not null.
+	 * @return The subscription. Can be {@link Subscription#close() closed} to unsubscribe the listener. Not null.
+	 */
+	public Subscription onChange(ConfigPath path, ConfigChangeListener<C> listener) {
+		requireNotNull(path, "The path ...");
+		requireNotNull(listener, "The listener ...");
+		Subscription subscription = new Subscription(path, listener);
+		this.subscriptions.merge(path, Collections.singletonList(subscription), (list, added) -> {
+			List<Subscription> result = new ArrayList<>(list.size() + 1);
+			result.addAll(list);
+			result.addAll(added);
+			return result;
+		});
+		return subscription;
+	}
+	
+	private void notifyListeners(Snapshot<C> oldSnapshot, Snapshot<C> newSnapshot) {
+		if (this.subscriptions.isEmpty()) {
+			return;
+		}
+		List<ConfigPath> changedPaths = ConfigDiff.between(oldSnapshot.config.getData(), newSnapshot.config.getData(), true).getChangedPaths();
+		if (changedPaths.isEmpty()) {
+			return;
+		}
+		
+		Set<Subscription> matching = new LinkedHashSet<>();
+		for (ConfigPath changed : changedPaths) {
+			// Subscriptions at the changed path and at its parents, including the root
+			for (int i = 0; i <= changed.length(); i++) {
+				List<Subscription> list = this.subscriptions.get(changed.prefix(i));
+				if (list != null) {
+					matching.addAll(list);
+				}
+			}
+			
+			// Subscriptions below the changed path
+			for (Entry<ConfigPath, List<Subscription>> entry : this.subscriptions.tailMap(changed, false).entrySet()) {
+				if (!entry.getKey().startsWith(changed)) {
+					break;
+				}
+				matching.addAll(entry.getValue());
+			}
+		}
+		
+		RuntimeException error = null;
+		for (Subscription subscription : matching) {
+			try {
+				subscription.listener.onChange(oldSnapshot, newSnapshot);
+			} catch (RuntimeException e) {
+				if (error == null) {
+					error = e;
+				}
+				else {
+					error.addSuppressed(e);
+				}
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+	
+	
+	/**
+	 * A subscription of a {@link ConfigChangeListener}.
+	 */
+	public final class Subscription implements AutoCloseable {
+		private final ConfigPath path;
+		private final ConfigChangeListener<C> listener;
+		
+		private Subscription(ConfigPath path, ConfigChangeListener<C> listener) {
+			this.path = path;
+			this.listener = listener;
+		}
+		
+		/**
+		 * Returns the path this subscription observes.
+		 * @return The path. Not null.
+		 */
+		public ConfigPath getPath() {
+			return this.path;
+		}
+		
+		/**
+		 * Unsubscribes the listener.
+		 */
+		@Override
+		public void close() {
+			ConfigHolder.this.subscriptions.computeIfPresent(this.path, (path, list) -> {
+				List<Subscription> result = new ArrayList<>(list);
+				result.remove(this);
+				return result.isEmpty() ? null : result;
+			});
+		}
+	}
+	
+	
+	/**
+	 * A published version of a configuration.
+	 * <p>
+	 * The configuration and the version of a snapshot never change.
+	 * The link to the previous snapshot in the {@link ConfigHolder#getHistory() history} is not immutable:
+	 * It is removed once the previous snapshot exceeds the {@link ConfigHolder#setHistorySize(int) history size},
+	 * even if this snapshot is pinned.
+	 * 
+	 * @param <C> The type of the configuration.
+	 */
+	public static final class Snapshot<C extends AbstractConfig<C>> {
+		private final C config;
+		private final long version;
+		// The previous snapshot in the history. Unlinked if it exceeds the history size.
+		private volatile Snapshot<C> previous;
+		
+		private Snapshot(C config, long version, Snapshot<C> previous) {
+			this.config = config;
+			this.version = version;
+			this.previous = previous;
+		}
+		
+		/**
+		 * Returns the configuration of this snapshot.
+		 * @return The configuration. Not null.
+		 */
+		public C getConfig() {
+			return this.config;
+		}
+		
+		/**
+		 * Returns the version of this snapshot.
+		 * Snapshots that are published later have higher versions.
+		 * @return The version. Positive.
+		 */
+		public long getVersion() {
+			return this.version;
+		}
+		
+		@Override
+		public String toString() {
+			return "Snapshot[version=" + this.version + "]";
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A hash index over the elements of a list config, keyed by the value of one of their entries.
+ * <p>
+ * An index can be obtained by {@link IConfig#indexBy(String)}.
+ * For example, the list of tables
+ * <pre>
+ * [[routes]]
+ * id = "home"
+ * path = "/"
+ * 
+ * [[routes]]
+ * id = "login"
+ * path = "/login"
+ * </pre>
+ * can be indexed by {@code config.getList("routes").orError().indexBy("id")}.
+ * Afterwards, {@code index.get("login")} returns the second table without scanning the list.
+ * <p>
+ * The underlying index is built once per list and key and is cached by the list itself.
+ * It is immutable and can safely be shared between threads.
+ * Since the index is attached to the list, it is dropped together with the configuration it belongs to.
+ * 
+ * @param <C> The type of the configuration.
+ * 
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public final class ConfigIndex<C> {
+	private final ConfigListIndex index;
+	private final String listName;
+	private final Function<ConfigElement, C> configFactory;
+	
+	ConfigIndex(ConfigListIndex index, String listName, Function<ConfigElement, C> configFactory) {
+		this.index = index;
+		this.listName = listName;
+		this.configFactory = configFactory;
+	}
+	
+	/**
+	 * Returns the name of the entry that the list elements are indexed by.
+	 * @return The key. Not null.
+	 */
+	public String getKey() {
+		return this.index.getKey();
+	}
+	
+	/**
+	 * Returns a {@link ConfigValue} containing a config representing the first list element
+	 * whose indexed entry has the specified value.
+	 * <p>
+	 * If no such element exists, the ConfigValue will be empty.
+	 * @param value The value of the indexed entry. Not null.
+	 * Non-string entries are indexed by their string representation, e.g. {@code "42"} for an integer entry.
+	 * @return The ConfigValue. Not null.
+	 */
+	public ConfigValue<C> get(String value) {
+		requireNotNull(value, "The value ...");
+		ConfigElement element = this.index.getFirst(value);
+		if (element == null) {
+			return new ConfigValue<>(null, null, new ConfigError("No element with '" + this.index.getKey() + "' = '" + value + "' found" +
+					(this.listName.isEmpty() ? "" : " in '" + this.listName + "'")));
+		}
+		return new ConfigValue<>(this.configFactory.apply(element), element.getType(), null);
+	}
+	
+	/**
+	 * Returns a {@link ConfigValue} containing a config representing the first list element
+	 * whose indexed entry has the specified integer value.
+	 * This method is equivalent to {@code get(String.valueOf(value))}.
+	 * @param value The value of the indexed entry.
+	 * @return The ConfigValue. Not null.
+	 * @see #get(String)
+	 */
+	public ConfigValue<C> get(long value) {
+		return this.get(String.valueOf(value));
+	}
+	
+	/**
+	 * Returns configs representing all list elements whose indexed entry has the specified value.
+	 * The configs are in the same order as the elements in the list.
+	 * @param value The value of the indexed entry. Not null.
+	 * @return An unmodifiable list of configs. Empty if no such element exists. Not null.
+	 */
+	public List<C> getAll(String value) {
+		requireNotNull(value, "The value ...");
+		ConfigElement[] elements = this.index.getAll(value);
+		if (elements.length == 0) {
+			return Collections.emptyList();
+		}
+		ArrayList<C> configs = new ArrayList<>(elements.length);
+		for (ConfigElement element : elements) {
+			configs.add(this.configFactory.apply(element));
+		}
+		return Collections.unmodifiableList(configs);
+	}
+	
+	/**
+	 * Returns if at least one list element has an indexed entry with the specified value.
+	 * @param value The value of the indexed entry. Not null.
+	 * @return If such an element exists.
+	 */
+	public boolean contains(String value) {
+		requireNotNull(value, "The value ...");
+		return this.index.getFirst(value) != null;
+	}
+	
+	/**
+	 * Returns all distinct values of the indexed entry.
+	 * @return An unmodifiable set of values. Not null.
+	 */
+	public Set<String> getValues() {
+		return this.index.getValues();
+	}
+	
+	/**
+	 * Returns the number of distinct values of the indexed entry.
+	 * @return The number of values. Not negative.
+	 */
+	public int size() {
+		return this.index.getValues().size();
+	}
+}
@@ -48,8 +48,9 @@ class ConfigInt extends ConfigElement {
 	}
 	
 	@Override
-	public String toString() {
-		return super.toString() + "=" + this.value;
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		sb.append('=').append(this.value);
 	}
 	
 	@Override
@@ -69,4 +70,9 @@ class ConfigInt extends ConfigElement {
 	public int hashCode() {
 		return Long.hashCode(this.value);
 	}
+	
+	@Override
+	protected long computeDigest() {
+		return mixDigest(0x494e54L ^ mixDigest(this.value));
+	}
 }
@@ -0,0 +1,42 @@
+package dev.tomaten.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures how a member of a {@link ConfigBinding} is read from the config.
+ * <p>
+ * Members without this annotation are read from the config key that equals the field name.
+ * For interface methods, a {@code get} or {@code is} prefix is removed from the method name,
+ * e.g. {@code getHost()} is read from {@code "host"}.
+ * 
+ * @see ConfigBinding
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface ConfigKey {
+	
+	/**
+	 * The name of the config element to read the member from.
+	 * Dots {@code '.'} are used as separator to navigate through nested elements.
+	 * If empty, the name is derived from the member name.
+	 * @return The name. Not null.
+	 */
+	String value() default "";
+	
+	/**
+	 * If the config element may be missing.
+	 * <p>
+	 * If an optional element is missing, fields keep their initial value and default methods return their default value.
+	 * Other methods return {@code null}, {@code 0} or {@code false}.
+	 * If a non-optional element is missing, a {@link ConfigError} is thrown.
+	 * @return If the element is optional.
+	 */
+	boolean optional() default false;
+}
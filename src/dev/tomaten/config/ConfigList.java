@@ -4,7 +4,7 @@ import static de.tomatengames.util.RequirementUtil.requireNotNull;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dev.tomaten.json.generic.JSONArray;
 import dev.tomaten.json.generic.JSONElement;
@@ -12,6 +12,7 @@ import dev.tomaten.json.generic.JSONElement;
 class ConfigList extends ConfigElement {
 	private final List<ConfigElement> elements;
 	private final List<ConfigElement> unmodElements;
+	private volatile ConcurrentHashMap<String, ConfigListIndex> indexes;
 	
 	public ConfigList(String name, String fullName, List<ConfigElement> elements, String originalType) {
 		super(name, fullName, originalType);
@@ -54,10 +55,31 @@ class ConfigList extends ConfigElement {
 		return this.unmodElements;
 	}
 	
+	/**
+	 * Returns the index of the elements of this list by the specified key.
+	 * The index is built on the first call and cached for subsequent calls with the same key.
+	 * @param key The name of the entry to index by. Not null.
+	 * @return The index. Not null.
+	 */
+	public ConfigListIndex index(String key) {
+		ConcurrentHashMap<String, ConfigListIndex> indexes = this.indexes;
+		if (indexes == null) {
+			synchronized (this) {
+				indexes = this.indexes;
+				if (indexes == null) {
+					indexes = new ConcurrentHashMap<>();
+					this.indexes = indexes;
+				}
+			}
+		}
+		return indexes.computeIfAbsent(key, k -> ConfigListIndex.build(this.elements, k));
+	}
+	
 	
 	@Override
-	public String toString() {
-		return super.toString() + "=[ " + this.elements.stream().map(e -> e.toString()).collect(Collectors.joining(", ")) + " ]";
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		appendChildren(sb, false, this.elements, maxLength, maxDepth);
 	}
 	
 	@Override
@@ -76,12 +98,33 @@ class ConfigList extends ConfigElement {
 		if (other == this) {
 			return true;
 		}
-		return (other instanceof ConfigList) && this.elements.equals(((ConfigList) other).elements);
+		if (other instanceof ConfigList) {
+			return this.digest() == ((ConfigList) other).digest() && this.elements.equals(((ConfigList) other).elements);
+		}
+		// Other implementations, e.g. views of mapped binary configs
+		return (other instanceof ConfigElement) && ((ConfigElement) other).getType() == Type.LIST &&
+				this.digest() == ((ConfigElement) other).digest() && this.elements.equals(((ConfigElement) other).getList());
 	}
 	
 	@Override
 	public int hashCode() {
-		return this.elements.hashCode();
+		return Long.hashCode(this.digest());
+	}
+	
+	@Override
+	protected long computeDigest() {
+		return listDigest(this.elements);
+	}
+	
+	/**
+	 * Computes the digest of a list with the specified elements in the same way as {@link #computeDigest()}.
+	 */
+	static long listDigest(List<ConfigElement> elements) {
+		long hash = 0x4c495354L;
+		for (ConfigElement element : elements) {
+			hash = mixDigest(hash * 31 + element.digest());
+		}
+		return mixDigest(hash ^ elements.size());
 	}
 	
 }
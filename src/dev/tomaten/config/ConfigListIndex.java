@@ -0,0 +1,88 @@
+package dev.tomaten.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * An immutable hash index over the elements of a list element.
+ * The elements are indexed by the string representation of one of their entries.
+ * <p>
+ * Instances are created once per list element and key, see {@link ConfigList#index(String)}.
+ * Since instances are never modified after construction, they can be shared between threads.
+ */
+class ConfigListIndex {
+	private static final ConfigElement[] NO_ELEMENTS = new ConfigElement[0];
+	
+	private final String key;
+	private final Map<String, ConfigElement[]> map;
+	private final Set<String> values;
+	
+	private ConfigListIndex(String key, Map<String, ConfigElement[]> map) {
+		this.key = key;
+		this.map = map;
+		this.values = Collections.unmodifiableSet(map.keySet());
+	}
+	
+	/**
+	 * Builds the index for the specified list of elements.
+	 * <p>
+	 * Elements that are not objects, do not contain the key or whose entry cannot be represented as a string are not indexed.
+	 * @param elements The elements to index. Not null.
+	 * @param key The name of the entry to index by. Not null. Dots {@code '.'} are used as separators for nested entries.
+	 * @return The index. Not null.
+	 */
+	public static ConfigListIndex build(List<ConfigElement> elements, String key) {
+		HashMap<String, ArrayList<ConfigElement>> lists = new HashMap<>();
+		for (ConfigElement element : elements) {
+			if (element.getType() != ConfigElement.Type.OBJECT) {
+				continue;
+			}
+			ConfigElement entry = AbstractConfig.navigate(element, key, true, true);
+			String value = entry != null ? entry.getStringOrDefault(null) : null;
+			if (value == null) {
+				continue;
+			}
+			lists.computeIfAbsent(value, v -> new ArrayList<>(1)).add(element);
+		}
+		
+		HashMap<String, ConfigElement[]> map = new HashMap<>();
+		for (Entry<String, ArrayList<ConfigElement>> entry : lists.entrySet()) {
+			map.put(entry.getKey(), entry.getValue().toArray(NO_ELEMENTS));
+		}
+		return new ConfigListIndex(key, map);
+	}
+	
+	public String getKey() {
+		return this.key;
+	}
+	
+	/**
+	 * Returns the first indexed element whose entry has the specified value.
+	 * @param value The value. Not null.
+	 * @return The element. Null if no such element exists.
+	 */
+	public ConfigElement getFirst(String value) {
+		ConfigElement[] found = this.map.get(value);
+		return found != null ? found[0] : null;
+	}
+	
+	/**
+	 * Returns all indexed elements whose entry has the specified value.
+	 * The elements are in the same order as in the list.
+	 * @param value The value. Not null.
+	 * @return The elements. Not null. The returned array must not be modified.
+	 */
+	public ConfigElement[] getAll(String value) {
+		ConfigElement[] found = this.map.get(value);
+		return found != null ? found : NO_ELEMENTS;
+	}
+	
+	public Set<String> getValues() {
+		return this.values;
+	}
+}
@@ -0,0 +1,317 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import dev.tomaten.config.ConfigElement.Type;
+
+/**
+ * Loads configuration files that may include other configuration files, and caches the parsed files.
+ * <p>
+ * A file includes other files using the {@value #INCLUDE_KEY} entry of its root object,
+ * which is either a string or a list of strings. The included paths are resolved relative to the directory of the including file.
+ * <pre>
+ * include = ["common.toml", "region/eu.toml"]
+ * 
+ * [db]
+ * host = "tenant.example.com"
+ * </pre>
+ * The entries of the including file override the entries of the included files, and later includes override earlier ones.
+ * Objects are merged like by {@link TomatenConfig#layer(AbstractConfig...)}. The {@value #INCLUDE_KEY} entry itself is removed.
+ * Included files may include further files. Cyclic includes cause a {@link ConfigError}.
+ * <p>
+ * Every file is parsed once and cached by its real path. A cached file is parsed again if its modification time or size
+ * or the modification time or size of a file it includes has changed.
+ * Since the configurations are immutable, a file that is included by many configurations is shared by all of them.
+ * <p>
+ * Optionally, parsed files are also stored in a cache directory that persists across restarts.
+ * The cached files are named by a SHA-256 hash of the file contents, the config type, the {@link ConfigBinary#FORMAT_VERSION binary format}
+ * and the version of the parsers. If a file with the same contents is loaded again, the cached tree is decoded and the text is not parsed at all.
+ * Changing the file, the binary format or the trees produced by the parsers changes the hash, so outdated entries are never used.
+ * Outdated entries are not deleted automatically.
+ * <p>
+ * A ConfigLoader is thread-safe.
+ * 
+ * @version 2026-10-19 created
+ * @since 1.0
+ */
+public class ConfigLoader {
+	/**
+	 * The key of the root entry that specifies the included files.
+	 */
+	public static final String INCLUDE_KEY = "include";
+	
+	private static final String CACHE_FILE_SUFFIX = ".bin";
+	// The version of the trees produced by the JSON and TOML parsers. Part of the cache key.
+	// Must be increased whenever a change to a parser or the config elements produces a different tree for the same input.
+	private static final int PARSER_VERSION = 2;
+	
+	private final ConcurrentHashMap<Path, ParsedFile> cache = new ConcurrentHashMap<>();
+	private final Path cacheDirectory;
+	
+	/**
+	 * Creates a new ConfigLoader with an empty cache.
+	 */
+	public ConfigLoader() {
+		this.cacheDirectory = null;
+	}
+	
+	/**
+	 * Creates a new ConfigLoader with an empty in-memory cache that stores parsed files in the specified cache directory.
+	 * The directory is created if it does not exist. It may be shared by multiple ConfigLoaders and processes.
+	 * @param cacheDirectory The cache directory. Not null.
+	 * @throws ConfigError If the cache directory cannot be created.
+	 */
+	public ConfigLoader(Path cacheDirectory) throws ConfigError {
+		requireNotNull(cacheDirectory, "The cache directory ...");
+		try {
+			Files.createDirectories(cacheDirectory);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to create the cache directory '" + cacheDirectory + "'", e);
+		}
+		this.cacheDirectory = cacheDirectory;
+	}
+	
+	/**
+	 * Returns the directory in which parsed files are stored across restarts.
+	 * @return The cache directory. Null if parsed files are only cached in memory.
+	 */
+	public Path getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+	
+	/**
+	 * Reads a configuration from the specified {@link Path} and resolves its includes.
+	 * The file extension of every file determines the parser to use.
+	 * The files are expected to be encoded in UTF-8.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param path The {@link Path} to the configuration file that should be read. Not null.
+	 * @return The configuration that was read. Not null.
+	 * @throws ConfigError If a configuration file could not be read or parsed, an include is invalid or the includes are cyclic.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public <C extends AbstractConfig<C>> C load(Supplier<C> configFactory, Path path) throws ConfigError {
+		requireNotNull(configFactory, "The config factory ...");
+		requireNotNull(path, "The path ...");
+		ConfigElement data = this.loadFile(path, new ArrayDeque<>()).element;
+		C config = configFactory.get();
+		requireNotNull(config, "The config factory returned null");
+		config.init(configFactory, data);
+		return config;
+	}
+	
+	/**
+	 * Removes all parsed files from the in-memory cache.
+	 * The cache directory is not modified.
+	 */
+	public void clearCache() {
+		this.cache.clear();
+	}
+	
+	private ParsedFile loadFile(Path path, Deque<Path> including) throws ConfigError {
+		Path realPath;
+		try {
+			realPath = path.toRealPath();
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file '" + path + "'", e);
+		}
+		if (including.contains(realPath)) {
+			throw new ConfigError("Cyclic include of the config file '" + realPath + "'");
+		}
+		ParsedFile cached = this.cache.get(realPath);
+		if (cached != null && cached.isValid()) {
+			return cached;
+		}
+		
+		// The attributes are read before parsing, so that a concurrent modification causes another parse.
+		BasicFileAttributes attributes = readAttributes(realPath);
+		ConfigElement element = this.cacheDirectory != null ? this.parseCached(realPath) : TomatenConfig.load(Config::new, realPath).getData();
+		List<ParsedFile> includes = Collections.emptyList();
+		ConfigElement includeElement = element.getType() == Type.OBJECT ? element.getOrNull(INCLUDE_KEY) : null;
+		if (includeElement != null) {
+			List<String> names = includeNames(includeElement);
+			includes = new ArrayList<>(names.size());
+			List<ConfigElement> layers = new ArrayList<>(names.size() + 1);
+			layers.add(ConfigTrees.remove(element, INCLUDE_KEY));
+			Path directory = realPath.getParent();
+			including.push(realPath);
+			try {
+				// Later includes override earlier ones.
+				for (int i = names.size() - 1; i >= 0; i--) {
+					ParsedFile included = this.loadFile(directory.resolve(names.get(i)), including);
+					if (included.element.getType() != Type.OBJECT) {
+						throw new ConfigError("The config file '" + included.path + "' included by '" + realPath + "' is not an object");
+					}
+					includes.add(included);
+					layers.add(included.element);
+				}
+			} finally {
+				including.pop();
+			}
+			element = LayeredConfigObject.of(layers);
+		}
+		
+		ParsedFile parsed = new ParsedFile(realPath, attributes.lastModifiedTime(), attributes.size(), element, includes);
+		this.cache.put(realPath, parsed);
+		return parsed;
+	}
+	
+	private ConfigElement parseCached(Path path) throws ConfigError {
+		ConfigType type = TomatenConfig.detectType(path, null);
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(path);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file '" + path + "'", e);
+		}
+		if (type == ConfigType.BINARY) {
+			return ConfigBinary.decode(bytes);
+		}
+		Path cacheFile = this.cacheDirectory.resolve(cacheKey(bytes, type) + CACHE_FILE_SUFFIX);
+		
+		if (Files.isRegularFile(cacheFile)) {
+			try {
+				return ConfigBinary.decode(Files.readAllBytes(cacheFile));
+			} catch (IOException | ConfigError e) {
+				// A damaged or concurrently deleted entry is replaced below.
+			}
+		}
+		
+		// Like the reader of TomatenConfig.load, the decoder reports malformed input instead of replacing it.
+		ConfigElement element;
+		try (Reader reader = new StringReader(StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString())) {
+			element = TomatenConfig.load(Config::new, reader, path.toString(), type).getData();
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file '" + path + "'", e);
+		}
+		writeCacheFile(cacheFile, ConfigBinary.encode(element));
+		return element;
+	}
+	
+	private static String cacheKey(byte[] bytes, ConfigType type) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e);
+		}
+		String version = ConfigBinary.FORMAT_VERSION + "/" + PARSER_VERSION + "/" + TomatenConfig.getVersion() + "/" + type.name() + "/";
+		digest.update(version.getBytes(StandardCharsets.UTF_8));
+		byte[] hash = digest.digest(bytes);
+		
+		char[] chars = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; i++) {
+			chars[2 * i] = Character.forDigit((hash[i] >> 4) & 0xF, 16);
+			chars[2 * i + 1] = Character.forDigit(hash[i] & 0xF, 16);
+		}
+		return new String(chars);
+	}
+	
+	private static void writeCacheFile(Path cacheFile, byte[] data) {
+		// The cache is an optimization. If it cannot be written, the file is parsed again on the next start.
+		Path tempFile = null;
+		try {
+			// Readers never see a partially written entry.
+			tempFile = Files.createTempFile(cacheFile.getParent(), "tmp-", CACHE_FILE_SUFFIX);
+			Files.write(tempFile, data);
+			try {
+				Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			if (tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				} catch (IOException e2) {
+					// ignore
+				}
+			}
+		}
+	}
+	
+	private static List<String> includeNames(ConfigElement element) throws ConfigError {
+		List<String> names = new ArrayList<>();
+		if (element.getType() == Type.STRING) {
+			names.add(element.getString());
+			return names;
+		}
+		if (element.getType() == Type.LIST) {
+			for (ConfigElement name : element.getList()) {
+				if (name.getType() != Type.STRING) {
+					break;
+				}
+				names.add(name.getString());
+			}
+			if (names.size() == element.size()) {
+				return names;
+			}
+		}
+		throw new ConfigError("Invalid config value for '" + element.getFullName() + "': Expected a string or a list of strings");
+	}
+	
+	private static BasicFileAttributes readAttributes(Path path) throws ConfigError {
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file '" + path + "'", e);
+		}
+	}
+	
+	
+	private static class ParsedFile {
+		private final Path path;
+		private final FileTime lastModified;
+		private final long size;
+		private final ConfigElement element;
+		private final List<ParsedFile> includes;
+		
+		public ParsedFile(Path path, FileTime lastModified, long size, ConfigElement element, List<ParsedFile> includes) {
+			this.path = path;
+			this.lastModified = lastModified;
+			this.size = size;
+			this.element = element;
+			this.includes = includes;
+		}
+		
+		public boolean isValid() {
+			BasicFileAttributes attributes;
+			try {
+				attributes = Files.readAttributes(this.path, BasicFileAttributes.class);
+			} catch (IOException e) {
+				return false;
+			}
+			if (!attributes.lastModifiedTime().equals(this.lastModified) || attributes.size() != this.size) {
+				return false;
+			}
+			for (ParsedFile include : this.includes) {
+				if (!include.isValid()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
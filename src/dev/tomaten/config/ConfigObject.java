@@ -7,12 +7,13 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import dev.tomaten.json.generic.JSONElement;
 import dev.tomaten.json.generic.JSONObject;
 
 class ConfigObject extends ConfigElement {
+	private static final long OBJECT_DIGEST = 0x4f424a454354L;
+	
 	private final Map<String, ConfigElement> map;
 	private final Set<String> keys;
 	
@@ -49,8 +50,9 @@ class ConfigObject extends ConfigElement {
 	}
 	
 	@Override
-	public String toString() {
-		return super.toString() + "={ " + this.map.values().stream().map(e -> e.toString()).collect(Collectors.joining(", ")) + " }";
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		appendChildren(sb, true, this.map.values(), maxLength, maxDepth);
 	}
 	
 	@Override
@@ -68,11 +70,58 @@ class ConfigObject extends ConfigElement {
 		if (other == this) {
 			return true;
 		}
-		return (other instanceof ConfigObject) && this.map.equals(((ConfigObject) other).map);
+		if (other instanceof ConfigObject) {
+			return this.digest() == ((ConfigObject) other).digest() && this.map.equals(((ConfigObject) other).map);
+		}
+		// Other implementations, e.g. views of layered objects
+		return (other instanceof ConfigElement) && ((ConfigElement) other).getType() == Type.OBJECT &&
+				equalEntries(this, (ConfigElement) other);
+	}
+	
+	/**
+	 * Returns if the specified objects have equal entries.
+	 */
+	static boolean equalEntries(ConfigElement a, ConfigElement b) {
+		if (a.digest() != b.digest()) {
+			return false;
+		}
+		Collection<String> keys = a.getKeys();
+		if (keys.size() != b.getKeys().size()) {
+			return false;
+		}
+		for (String key : keys) {
+			ConfigElement child = b.getOrNull(key);
+			if (child == null || !child.equals(a.getOrNull(key))) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	@Override
 	public int hashCode() {
-		return this.map.hashCode();
+		return Long.hashCode(this.digest());
+	}
+	
+	@Override
+	protected long computeDigest() {
+		// The order of the entries is not relevant.
+		long sum = 0;
+		for (Entry<String, ConfigElement> entry : this.map.entrySet()) {
+			sum += mixDigest(digestString(entry.getKey()) * 31 + entry.getValue().digest());
+		}
+		return mixDigest(OBJECT_DIGEST ^ sum ^ this.map.size());
+	}
+	
+	/**
+	 * Computes the digest of the specified object in the same way as {@link #computeDigest()}.
+	 */
+	static long objectDigest(ConfigElement object) {
+		long sum = 0;
+		Collection<String> keys = object.getKeys();
+		for (String key : keys) {
+			sum += mixDigest(digestString(key) * 31 + object.getOrNull(key).digest());
+		}
+		return mixDigest(OBJECT_DIGEST ^ sum ^ keys.size());
 	}
 }
@@ -0,0 +1,387 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import dev.tomaten.config.ConfigElement.Type;
+import dev.tomaten.json.generic.JSONArray;
+import dev.tomaten.json.generic.JSONElement;
+import dev.tomaten.json.generic.JSONObject;
+import dev.tomaten.json.generic.JSONString;
+
+/**
+ * A list of operations that transform one configuration into another.
+ * <p>
+ * A patch can be computed {@link #between(AbstractConfig, AbstractConfig) between} two configurations
+ * or created using a {@link #builder() builder}. It contains one operation per changed path,
+ * so its size depends on the size of the changes rather than on the size of the configurations.
+ * <p>
+ * {@link #apply(AbstractConfig) Applying} a patch creates a new configuration.
+ * Only the objects and lists along the changed paths are copied. All other elements are shared with the original configuration.
+ * <pre>
+ * // Publisher
+ * JSONElement message = ConfigPatch.between(oldConfig, newConfig).toJSON();
+ * 
+ * // Subscriber
+ * ConfigPatch patch = ConfigPatch.fromConfig(TomatenConfig.load(Config::new, received, ConfigType.JSON));
+ * Config config = patch.apply(holder.get());
+ * </pre>
+ * <p>
+ * Paths are {@link ConfigPath}s. List elements are addressed by their index.
+ * Computed patches address entries by their keys, so keys that contain dots are not confused with nested entries.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public final class ConfigPatch {
+	private static final String OP_SET = "set", OP_REMOVE = "remove";
+	
+	private final List<Operation> operations;
+	
+	private ConfigPatch(List<Operation> operations) {
+		this.operations = Collections.unmodifiableList(operations);
+	}
+	
+	/**
+	 * Computes the patch that transforms the old element into the new element.
+	 * @param oldElement The old element. Not null.
+	 * @param newElement The new element. Not null.
+	 * @return The patch. Not null.
+	 */
+	public static ConfigPatch between(ConfigElement oldElement, ConfigElement newElement) {
+		List<ConfigPath> changedPaths = ConfigDiff.between(oldElement, newElement).getChangedPaths();
+		List<Operation> operations = new ArrayList<>(changedPaths.size());
+		List<Operation> removals = new ArrayList<>();
+		for (ConfigPath path : changedPaths) {
+			ConfigElement value = path.getOrNull(newElement);
+			if (value != null) {
+				operations.add(new Operation(path, value));
+			}
+			else {
+				removals.add(new Operation(path, null));
+			}
+		}
+		// Trailing list elements are removed from the back, so the indices of the other removed elements stay valid.
+		for (int i = removals.size() - 1; i >= 0; i--) {
+			operations.add(removals.get(i));
+		}
+		return new ConfigPatch(operations);
+	}
+	
+	/**
+	 * Computes the patch that transforms the old configuration into the new configuration.
+	 * @param oldConfig The old configuration. Not null.
+	 * @param newConfig The new configuration. Not null.
+	 * @return The patch. Not null.
+	 */
+	public static ConfigPatch between(AbstractConfig<?> oldConfig, AbstractConfig<?> newConfig) {
+		requireNotNull(oldConfig, "The old config ...");
+		requireNotNull(newConfig, "The new config ...");
+		return between(oldConfig.getData(), newConfig.getData());
+	}
+	
+	/**
+	 * Creates a new builder for a patch.
+	 * @return The builder. Not null.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+	
+	/**
+	 * Returns the operations of this patch in the order they are applied.
+	 * @return An unmodifiable list of the operations. Not null.
+	 */
+	public List<Operation> getOperations() {
+		return this.operations;
+	}
+	
+	/**
+	 * Returns if this patch does not contain any operations.
+	 * @return If this patch is empty.
+	 */
+	public boolean isEmpty() {
+		return this.operations.isEmpty();
+	}
+	
+	/**
+	 * Applies this patch to the specified element.
+	 * @param element The element. Not null.
+	 * @return The patched element. If this patch does not change anything, the specified element. Not null.
+	 * @throws ConfigError If an operation cannot be applied, e.g. because a parent of its path is not an object or list.
+	 */
+	public ConfigElement apply(ConfigElement element) throws ConfigError {
+		requireNotNull(element, "The element ...");
+		ConfigElement result = element;
+		for (Operation operation : this.operations) {
+			result = operation.value != null ? ConfigTrees.set(result, operation.path, operation.value) :
+				ConfigTrees.remove(result, operation.path);
+		}
+		return result;
+	}
+	
+	/**
+	 * Applies this patch to the specified configuration.
+	 * @param <C> The type of the configuration.
+	 * @param config The configuration. Not null.
+	 * @return The patched configuration. If this patch does not change anything, the specified configuration. Not null.
+	 * @throws ConfigError If an operation cannot be applied, e.g. because a parent of its path is not an object or list.
+	 */
+	public <C extends AbstractConfig<C>> C apply(C config) throws ConfigError {
+		requireNotNull(config, "The config ...");
+		ConfigElement data = config.getData();
+		ConfigElement result = this.apply(data);
+		return result == data ? config : config.newSubConfig(result);
+	}
+	
+	/**
+	 * Converts this patch into JSON, e.g. to send it to another process.
+	 * <p>
+	 * The patch is represented as an array of operations.
+	 * Every operation is an object with the entries {@code op} ({@code "set"} or {@code "remove"}), {@code path} and,
+	 * for set operations, {@code value}. The path is an array of its segments, so keys that contain dots are preserved.
+	 * @return The JSON representation. Not null.
+	 * @see #fromConfig(AbstractConfig)
+	 */
+	public JSONElement toJSON() {
+		JSONArray array = new JSONArray();
+		for (Operation operation : this.operations) {
+			JSONObject obj = new JSONObject();
+			obj.set("op", new JSONString(operation.value != null ? OP_SET : OP_REMOVE));
+			JSONArray path = new JSONArray();
+			for (String segment : operation.path.getSegments()) {
+				path.add(new JSONString(segment));
+			}
+			obj.set("path", path);
+			if (operation.value != null) {
+				obj.set("value", operation.value.toJSON());
+			}
+			array.add(obj);
+		}
+		return array;
+	}
+	
+	/**
+	 * Reads a patch from its {@link #toJSON() JSON representation} that has been loaded as a configuration.
+	 * The path of an operation may also be a dot-separated string.
+	 * @param <C> The type of the configuration.
+	 * @param config The configuration. Not null.
+	 * @return The patch. Not null.
+	 * @throws ConfigError If the configuration does not represent a patch.
+	 */
+	public static <C extends AbstractConfig<C>> ConfigPatch fromConfig(C config) throws ConfigError {
+		requireNotNull(config, "The config ...");
+		Builder builder = builder();
+		for (C operation : config.getList().orError()) {
+			String op = operation.getString("op").orError();
+			ConfigPath path = parsePath(operation.getAny("path").orError().getData());
+			if (OP_SET.equals(op)) {
+				builder.set(path, operation.getAny("value").orError().getData());
+			}
+			else if (OP_REMOVE.equals(op)) {
+				builder.remove(path);
+			}
+			else {
+				throw new ConfigError("Invalid config value for '" + operation.getFullName() + ".op': Unknown operation '" + op + "'");
+			}
+		}
+		return builder.build();
+	}
+	
+	private static ConfigPath parsePath(ConfigElement element) throws ConfigError {
+		if (element.getType() == Type.STRING) {
+			return ConfigTrees.parse(element.getString());
+		}
+		if (element.getType() == Type.LIST) {
+			List<String> segments = new ArrayList<>(element.size());
+			for (ConfigElement segment : element.getList()) {
+				if (segment.getType() != Type.STRING) {
+					break;
+				}
+				segments.add(segment.getString());
+			}
+			if (segments.size() == element.size()) {
+				return ConfigPath.ofSegments(segments);
+			}
+		}
+		throw new ConfigError("Invalid config value for '" + element.getFullName() + "': Expected a string or a list of strings");
+	}
+	
+	@Override
+	public String toString() {
+		return "ConfigPatch" + this.operations;
+	}
+	
+	
+	/**
+	 * A single operation of a {@link ConfigPatch}.
+	 * Either sets the value at a path, or removes the element at a path.
+	 */
+	public static final class Operation {
+		private final ConfigPath path;
+		private final ConfigElement value;
+		
+		private Operation(ConfigPath path, ConfigElement value) {
+			this.path = path;
+			this.value = value;
+		}
+		
+		/**
+		 * Returns the path this operation modifies.
+		 * @return The path. Not null. {@link ConfigPath#ROOT} represents the root.
+		 */
+		public ConfigPath getPath() {
+			return this.path;
+		}
+		
+		/**
+		 * Returns if this operation removes the element at its path.
+		 * @return If this is a remove operation. Otherwise, it is a set operation.
+		 */
+		public boolean isRemove() {
+			return this.value == null;
+		}
+		
+		/**
+		 * Returns the value that is set by this operation.
+		 * @return The value. Null if this is a remove operation.
+		 */
+		public ConfigElement getValue() {
+			return this.value;
+		}
+		
+		@Override
+		public String toString() {
+			return this.value != null ? OP_SET + " '" + this.path + "' " + this.value : OP_REMOVE + " '" + this.path + "'";
+		}
+	}
+	
+	
+	/**
+	 * Creates a {@link ConfigPatch}. The operations are applied in the order they are added.
+	 */
+	public static final class Builder {
+		private final List<Operation> operations = new ArrayList<>();
+		
+		private Builder() {
+		}
+		
+		/**
+		 * Adds an operation that sets the specified element at the specified path.
+		 * Missing objects along the path are created when the patch is applied.
+		 * @param path The dot-separated path. Not null. The empty string replaces the root.
+		 * @param value The value. Not null.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(String path, ConfigElement value) {
+			requireNotNull(path, "The path ...");
+			return this.set(ConfigTrees.parse(path), value);
+		}
+		
+		/**
+		 * Adds an operation that sets the specified element at the specified path.
+		 * Missing objects along the path are created when the patch is applied.
+		 * @param path The path. Not null. {@link ConfigPath#ROOT} replaces the root.
+		 * @param value The value. Not null.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(ConfigPath path, ConfigElement value) {
+			requireNotNull(path, "The path ...");
+			requireNotNull(value, "The value ...");
+			this.operations.add(new Operation(path, value));
+			return this;
+		}
+		
+		/**
+		 * Adds an operation that sets the element of the specified configuration at the specified path.
+		 * @param path The dot-separated path. Not null. The empty string replaces the root.
+		 * @param value The configuration. Not null.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(String path, AbstractConfig<?> value) {
+			requireNotNull(value, "The value ...");
+			return this.set(path, value.getData());
+		}
+		
+		/**
+		 * Adds an operation that sets a string at the specified path.
+		 * @param path The dot-separated path. Not null.
+		 * @param value The value. Not null.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(String path, String value) {
+			requireNotNull(value, "The value ...");
+			return this.set(path, new ConfigString("", "", value, null));
+		}
+		
+		/**
+		 * Adds an operation that sets an integer at the specified path.
+		 * @param path The dot-separated path. Not null.
+		 * @param value The value.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(String path, long value) {
+			return this.set(path, new ConfigInt("", "", value, null));
+		}
+		
+		/**
+		 * Adds an operation that sets a float at the specified path.
+		 * @param path The dot-separated path. Not null.
+		 * @param value The value.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(String path, double value) {
+			return this.set(path, new ConfigFloat("", "", value, null));
+		}
+		
+		/**
+		 * Adds an operation that sets a boolean at the specified path.
+		 * @param path The dot-separated path. Not null.
+		 * @param value The value.
+		 * @return This builder. Not null.
+		 */
+		public Builder set(String path, boolean value) {
+			return this.set(path, new ConfigBoolean("", "", value, null));
+		}
+		
+		/**
+		 * Adds an operation that removes the element at the specified path.
+		 * If the element does not exist when the patch is applied, the operation does nothing.
+		 * Removing a list element shifts the subsequent elements.
+		 * @param path The dot-separated path. Not null. Not empty.
+		 * @return This builder. Not null.
+		 */
+		public Builder remove(String path) {
+			requireNotNull(path, "The path ...");
+			return this.remove(ConfigTrees.parse(path));
+		}
+		
+		/**
+		 * Adds an operation that removes the element at the specified path.
+		 * If the element does not exist when the patch is applied, the operation does nothing.
+		 * Removing a list element shifts the subsequent elements.
+		 * @param path The path. Not null. Not {@link ConfigPath#ROOT}.
+		 * @return This builder. Not null.
+		 */
+		public Builder remove(ConfigPath path) {
+			requireNotNull(path, "The path ...");
+			if (path.length() == 0) {
+				throw new ConfigError("Cannot remove the root element");
+			}
+			this.operations.add(new Operation(path, null));
+			return this;
+		}
+		
+		/**
+		 * Creates the patch.
+		 * @return The patch. Not null.
+		 */
+		public ConfigPatch build() {
+			return new ConfigPatch(new ArrayList<>(this.operations));
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import dev.tomaten.config.ConfigElement.Type;
+
+/**
+ * A precompiled path to a config element.
+ * <p>
+ * A ConfigPath splits a dot-separated name like {@code "database.replicas.0.host"} once,
+ * so it can be resolved against many config elements without parsing the name again.
+ * The path is interpreted the same way as the {@code name} parameter of the getters declared by {@link IConfig}.
+ * That means, segments are used as keys for objects and as indices for lists.
+ * <p>
+ * Keys may contain dots themselves, e.g. {@code "api.example.com"} in the TOML table {@code [hosts."api.example.com"]}.
+ * Such keys cannot be addressed by a dot-separated name, but by a path that is created from its segments using {@link #ofSegments(List)}.
+ * The paths computed by {@link ConfigDiff} and {@link ConfigPatch} are always created from segments.
+ * <p>
+ * ConfigPaths are immutable and can be stored in constants.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public final class ConfigPath {
+	/**
+	 * The path without segments, which addresses the element it is resolved against.
+	 */
+	public static final ConfigPath ROOT = new ConfigPath(new String[0]);
+	
+	private final String[] segments;
+	private final int[] indices;
+	private final String path;
+	
+	private ConfigPath(String[] segments) {
+		this.segments = segments;
+		this.indices = new int[segments.length];
+		for (int i = 0; i < segments.length; i++) {
+			int index;
+			try {
+				index = Integer.parseInt(segments[i]);
+			} catch (NumberFormatException e) {
+				index = -1;
+			}
+			this.indices[i] = index;
+		}
+		this.path = String.join(".", segments);
+	}
+	
+	/**
+	 * Creates a ConfigPath from the specified dot-separated name.
+	 * <p>
+	 * The empty string is a path with a single empty segment, like for the getters declared by {@link IConfig}.
+	 * Use {@link #ROOT} for the path without segments.
+	 * @param path The name. Not null. Dots {@code '.'} are used as separators for nested elements.
+	 * @return The ConfigPath. Not null.
+	 */
+	public static ConfigPath of(String path) {
+		requireNotNull(path, "The path ...");
+		return new ConfigPath(path.split("\\.", -1));
+	}
+	
+	/**
+	 * Creates a ConfigPath from the specified segments. The segments are not split at dots.
+	 * @param segments The keys of the objects and indices of the lists along the path. Not null. May be empty.
+	 * @return The ConfigPath. Not null.
+	 */
+	public static ConfigPath ofSegments(List<String> segments) {
+		requireNotNull(segments, "The segments ...");
+		String[] array = segments.toArray(new String[0]);
+		for (String segment : array) {
+			requireNotNull(segment, "The segment ...");
+		}
+		return array.length == 0 ? ROOT : new ConfigPath(array);
+	}
+	
+	/**
+	 * Returns the path of the child with the specified key or index below this path.
+	 * @param segment The key or index of the child. Not null. Not split at dots.
+	 * @return The path of the child. Not null.
+	 */
+	public ConfigPath child(String segment) {
+		requireNotNull(segment, "The segment ...");
+		String[] segments = Arrays.copyOf(this.segments, this.segments.length + 1);
+		segments[this.segments.length] = segment;
+		return new ConfigPath(segments);
+	}
+	
+	/**
+	 * Returns if this path starts with all segments of the specified path.
+	 * Every path starts with itself and with {@link #ROOT}.
+	 * @param prefix The prefix. Not null.
+	 * @return If the specified path is a prefix of this path.
+	 */
+	public boolean startsWith(ConfigPath prefix) {
+		requireNotNull(prefix, "The prefix ...");
+		if (prefix.segments.length > this.segments.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.segments.length; i++) {
+			if (!prefix.segments[i].equals(this.segments[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the number of segments of this path.
+	 */
+	int length() {
+		return this.segments.length;
+	}
+	
+	/**
+	 * Returns the segment at the specified position.
+	 */
+	String segment(int i) {
+		return this.segments[i];
+	}
+	
+	/**
+	 * Returns the path that consists of the first segments of this path.
+	 */
+	ConfigPath prefix(int length) {
+		return length == this.segments.length ? this : length == 0 ? ROOT : new ConfigPath(Arrays.copyOf(this.segments, length));
+	}
+	
+	/**
+	 * Compares paths segment by segment. A path is sorted directly before the paths it is a prefix of.
+	 */
+	static int compare(ConfigPath a, ConfigPath b) {
+		int n = Math.min(a.segments.length, b.segments.length);
+		for (int i = 0; i < n; i++) {
+			int c = a.segments[i].compareTo(b.segments[i]);
+			if (c != 0) {
+				return c;
+			}
+		}
+		return Integer.compare(a.segments.length, b.segments.length);
+	}
+	
+	/**
+	 * Returns the segments of this path.
+	 * @return An unmodifiable list of segments. Not null.
+	 */
+	public List<String> getSegments() {
+		return Collections.unmodifiableList(Arrays.asList(this.segments));
+	}
+	
+	/**
+	 * Resolves this path against the specified element.
+	 * @param root The element to start from. Not null.
+	 * @return The element at this path. Null if no such element exists.
+	 */
+	public ConfigElement getOrNull(ConfigElement root) {
+		ConfigElement current = root;
+		for (int i = 0; i < this.segments.length; i++) {
+			Type type = current.getType();
+			if (type == Type.OBJECT) {
+				current = current.getOrNull(this.segments[i]);
+			}
+			else if (type == Type.LIST) {
+				current = current.getOrNull(this.indices[i]);
+			}
+			else {
+				return null;
+			}
+			if (current == null) {
+				return null;
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * Resolves this path against the specified element.
+	 * @param root The element to start from. Not null.
+	 * @return The element at this path. Not null.
+	 * @throws ConfigError If no element exists at this path.
+	 */
+	public ConfigElement get(ConfigElement root) throws ConfigError {
+		ConfigElement current = root;
+		for (int i = 0; i < this.segments.length; i++) {
+			Type type = current.getType();
+			if (type == Type.OBJECT) {
+				current = current.getOrNull(this.segments[i]);
+			}
+			else if (type == Type.LIST) {
+				current = current.getOrNull(this.indices[i]);
+			}
+			else {
+				// The same error messages as the getters.
+				throw new ConfigError("Cannot access '" + this.path + "': Type of " + (i == 0 ? "config" : "'" + this.prefix(i) + "'") +
+						" is " + type.toString());
+			}
+			if (current == null) {
+				if (i == this.segments.length - 1) {
+					throw new ConfigError("Cannot access '" + this.path + "': Not found");
+				}
+				throw new ConfigError("Cannot access '" + this.path + "': Element '" + this.prefix(i + 1) + "' not found");
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * Returns the dot-separated name of this path.
+	 * The name is ambiguous if a segment contains a dot.
+	 * @return The name. Not null. The empty string for {@link #ROOT}.
+	 */
+	@Override
+	public String toString() {
+		return this.path;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this || (obj instanceof ConfigPath && Arrays.equals(this.segments, ((ConfigPath) obj).segments));
+	}
+	
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.segments);
+	}
+}
@@ -6,8 +6,17 @@ import dev.tomaten.json.generic.JSONElement;
 import dev.tomaten.json.generic.JSONString;
 
 class ConfigString extends ConfigElement {
+	private static final byte BOOLEAN_UNKNOWN = 0, BOOLEAN_TRUE = 1, BOOLEAN_FALSE = 2, BOOLEAN_INVALID = 3;
+	// Cached instead of a number if the value could not be parsed.
+	private static final Object INVALID = new Object();
+	
 	private final String value;
 	
+	// Cached results of parsing the value. A Long/Double or INVALID. Null if not parsed yet.
+	private Object parsedLong;
+	private Object parsedDouble;
+	private byte parsedBoolean = BOOLEAN_UNKNOWN;
+	
 	public ConfigString(String name, String fullName, String value, String originalType) {
 		super(name, fullName, originalType);
 		requireNotNull(value, "The string value ...");
@@ -31,66 +40,139 @@ class ConfigString extends ConfigElement {
 	
 	@Override
 	public long getLong() throws ConfigError {
-		try {
-			return Long.parseLong(this.value);
-		} catch (NumberFormatException e) {
-			throw new ConfigError(typeErrorMessage(Type.INTEGER), e);
+		Object parsed = this.parseLong();
+		if (parsed == INVALID) {
+			// Parse again to throw a new exception with the original cause.
+			try {
+				Long.parseLong(this.value);
+			} catch (NumberFormatException e) {
+				throw new ConfigError(typeErrorMessage(Type.INTEGER), e);
+			}
 		}
+		return (Long) parsed;
 	}
 	
 	@Override
 	public long getLongOrDefault(long defaultValue) {
-		try {
-			return Long.parseLong(this.value);
-		} catch (NumberFormatException e) {
-			return defaultValue;
-		}
+		Object parsed = this.parseLong();
+		return parsed instanceof Long ? (Long) parsed : defaultValue;
 	}
 	
 	@Override
 	public double getDouble() throws ConfigError {
-		try {
-			return Double.parseDouble(this.value);
-		} catch (NumberFormatException e) {
-			throw new ConfigError(typeErrorMessage(Type.FLOAT), e);
+		Object parsed = this.parseDouble();
+		if (parsed == INVALID) {
+			// Parse again to throw a new exception with the original cause.
+			try {
+				Double.parseDouble(this.value);
+			} catch (NumberFormatException e) {
+				throw new ConfigError(typeErrorMessage(Type.FLOAT), e);
+			}
 		}
+		return (Double) parsed;
 	}
 	
 	@Override
 	public double getDoubleOrDefault(double defaultValue) {
-		try {
-			return Double.parseDouble(this.value);
-		} catch (NumberFormatException e) {
-			return defaultValue;
-		}
+		Object parsed = this.parseDouble();
+		return parsed instanceof Double ? (Double) parsed : defaultValue;
 	}
 	
 	@Override
 	public boolean getBoolean() throws ConfigError {
-		if ("true".equalsIgnoreCase(this.value)) {
-			return true;
-		}
-		if ("false".equalsIgnoreCase(this.value)) {
-			return false;
+		byte parsed = this.parseBoolean();
+		if (parsed == BOOLEAN_INVALID) {
+			throw new ConfigError(typeErrorMessage(Type.BOOLEAN));
 		}
-		throw new ConfigError(typeErrorMessage(Type.BOOLEAN));
+		return parsed == BOOLEAN_TRUE;
 	}
 	
 	@Override
 	public boolean getBooleanOrDefault(boolean defaultValue) {
-		if ("true".equalsIgnoreCase(this.value)) {
-			return true;
+		byte parsed = this.parseBoolean();
+		if (parsed == BOOLEAN_INVALID) {
+			return defaultValue;
 		}
-		if ("false".equalsIgnoreCase(this.value)) {
-			return false;
+		return parsed == BOOLEAN_TRUE;
+	}
+	
+	// The results are cached, so every interpretation of the string is only parsed once.
+	// Races are harmless, since all threads compute the same result. The fields only hold immutable boxes or the INVALID constant,
+	// which are safely published without synchronization. No exception is shared between threads.
+	
+	private Object parseLong() {
+		Object parsed = this.parsedLong;
+		if (parsed == null) {
+			try {
+				parsed = Long.parseLong(this.value);
+			} catch (NumberFormatException e) {
+				parsed = INVALID;
+			}
+			this.parsedLong = parsed;
+		}
+		return parsed;
+	}
+	
+	private Object parseDouble() {
+		Object parsed = this.parsedDouble;
+		if (parsed == null) {
+			try {
+				parsed = Double.parseDouble(this.value);
+			} catch (NumberFormatException e) {
+				parsed = INVALID;
+			}
+			this.parsedDouble = parsed;
 		}
-		return defaultValue;
+		return parsed;
+	}
+	
+	private byte parseBoolean() {
+		byte parsed = this.parsedBoolean;
+		if (parsed == BOOLEAN_UNKNOWN) {
+			if ("true".equalsIgnoreCase(this.value)) {
+				parsed = BOOLEAN_TRUE;
+			}
+			else if ("false".equalsIgnoreCase(this.value)) {
+				parsed = BOOLEAN_FALSE;
+			}
+			else {
+				parsed = BOOLEAN_INVALID;
+			}
+			this.parsedBoolean = parsed;
+		}
+		return parsed;
 	}
 	
 	
 	@Override
-	public String toString() {
-		return super.toString() + "=\"" + this.value.replaceAll("\"", "\\\"") + "\"";
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		sb.append("=\"");
+		String value = this.value;
+		// A long value is only escaped up to the point at which the result is cut.
+		for (int i = 0, n = value.length(); i < n && sb.length() <= maxLength; i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+		sb.append('"');
 	}
 	
 	@Override
@@ -110,4 +192,9 @@ class ConfigString extends ConfigElement {
 	public int hashCode() {
 		return this.value.hashCode();
 	}
+	
+	@Override
+	protected long computeDigest() {
+		return mixDigest(0x535452L ^ digestString(this.value));
+	}
 }
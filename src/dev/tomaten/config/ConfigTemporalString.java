@@ -0,0 +1,99 @@
+package dev.tomaten.config;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+
+/**
+ * A string element that represents a date, time or date-time, like the TOML date/time values.
+ * <p>
+ * The value is parsed once when the element is created, so the date/time getters do not have to parse the string again.
+ * The element still behaves like a {@link ConfigString}: Its type is {@link ConfigElement.Type#STRING},
+ * and {@link #getString()}, {@link #toJSON()} and {@link #equals(Object)} use the original string.
+ * 
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+class ConfigTemporalString extends ConfigString {
+	private final Temporal temporal;
+	
+	/**
+	 * Creates a new ConfigTemporalString.
+	 * @param name The name of the config element. Not null.
+	 * @param fullName The full name of the config element. Not null.
+	 * @param value The string representation. Not null.
+	 * @param originalType The original type. One of {@code "date-local"}, {@code "time-local"}, {@code "datetime-local"} or {@code "datetime"}.
+	 */
+	public ConfigTemporalString(String name, String fullName, String value, String originalType) {
+		super(name, fullName, value, originalType);
+		this.temporal = parse(value, originalType);
+	}
+	
+	/**
+	 * Checks if the specified original type represents a date, time or date-time.
+	 * @param originalType The original type. May be null.
+	 * @return If elements with the original type should be represented by a ConfigTemporalString.
+	 */
+	public static boolean isTemporalType(String originalType) {
+		if (originalType == null) {
+			return false;
+		}
+		switch (originalType) {
+		case "date-local":
+		case "time-local":
+		case "datetime-local":
+		case "datetime":
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	private static Temporal parse(String value, String originalType) {
+		try {
+			switch (originalType) {
+			case "date-local":
+				return LocalDate.parse(value);
+			case "time-local":
+				return LocalTime.parse(value);
+			case "datetime-local":
+				return LocalDateTime.parse(value);
+			case "datetime":
+				return OffsetDateTime.parse(value);
+			default:
+				return null;
+			}
+		} catch (DateTimeParseException e) {
+			// The transformers parse the string again and report the error on access.
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns the parsed value.
+	 * @return A {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime} or {@link OffsetDateTime}.
+	 * Null if the string could not be parsed.
+	 */
+	public Temporal getTemporal() {
+		return this.temporal;
+	}
+	
+	/**
+	 * Returns the value as {@link ZonedDateTime}, in the same way as {@link IConfig#TRANSFORMER_DATE_TIME}.
+	 * @return The date-time. Null if this element does not represent a date-time.
+	 */
+	public ZonedDateTime toZonedDateTime() {
+		if (this.temporal instanceof OffsetDateTime) {
+			return ((OffsetDateTime) this.temporal).toZonedDateTime();
+		}
+		if (this.temporal instanceof LocalDateTime) {
+			return ((LocalDateTime) this.temporal).atZone(ZoneId.systemDefault());
+		}
+		return null;
+	}
+}
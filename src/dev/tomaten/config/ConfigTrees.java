@@ -0,0 +1,339 @@
+package dev.tomaten.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import dev.tomaten.config.ConfigElement.Type;
+
+/**
+ * Creates modified copies of immutable config element trees.
+ * <p>
+ * Only the objects and lists along the modified path are copied.
+ * All other elements are shared with the original tree.
+ * Since every element knows its full name, inserted elements are copied if their names do not match the path they are inserted at.
+ */
+final class ConfigTrees {
+	
+	private ConfigTrees() {
+	}
+	
+	/**
+	 * Returns a copy of the specified tree with the specified value at the specified path.
+	 * Missing objects along the path are created. In lists, the index that equals the size of the list appends the value.
+	 * @param root The root of the tree. Not null.
+	 * @param path The dot-separated path. Not null. The empty string replaces the root.
+	 * @param value The value. Not null.
+	 * @return The new root. Not null.
+	 * @throws ConfigError If the path cannot be navigated.
+	 */
+	static ConfigElement set(ConfigElement root, String path, ConfigElement value) throws ConfigError {
+		return set(root, parse(path), value);
+	}
+	
+	/**
+	 * Returns a copy of the specified tree with the specified value at the specified path.
+	 * Missing objects along the path are created. In lists, the index that equals the size of the list appends the value.
+	 * @param root The root of the tree. Not null.
+	 * @param path The path. Not null. {@link ConfigPath#ROOT} replaces the root.
+	 * @param value The value. Not null.
+	 * @return The new root. Not null.
+	 * @throws ConfigError If the path cannot be navigated.
+	 */
+	static ConfigElement set(ConfigElement root, ConfigPath path, ConfigElement value) throws ConfigError {
+		if (path.length() == 0) {
+			return rename(value, root.getName(), root.getFullName());
+		}
+		return set(root, path, 0, value);
+	}
+	
+	private static ConfigElement set(ConfigElement element, ConfigPath path, int i, ConfigElement value) throws ConfigError {
+		String key = path.segment(i);
+		boolean last = i == path.length() - 1;
+		Type type = element.getType();
+		if (type == Type.OBJECT) {
+			ConfigElement child = element.getOrNull(key);
+			ConfigElement newChild;
+			if (last) {
+				newChild = rename(value, key, childFullName(element, key));
+			}
+			else {
+				if (child == null) {
+					child = new ConfigObject(key, childFullName(element, key), new HashMap<>(), null);
+				}
+				newChild = set(child, path, i + 1, value);
+			}
+			return child == newChild ? element : copyObject(element, key, newChild);
+		}
+		if (type == Type.LIST) {
+			int size = element.size();
+			int index = parseIndex(key);
+			if (index < 0 || index > size) {
+				throw new ConfigError("Cannot set '" + path + "': Index " + key + " is out of bounds for '" + path.prefix(i) + "' (size " + size + ")");
+			}
+			if (index == size && !last) {
+				throw new ConfigError("Cannot set '" + path + "': Element '" + path.prefix(i + 1) + "' not found");
+			}
+			ConfigElement child = element.getOrNull(index);
+			ConfigElement newChild = last ? rename(value, key, childFullName(element, key)) : set(child, path, i + 1, value);
+			return child == newChild ? element : copyList(element, index, newChild);
+		}
+		throw new ConfigError("Cannot set '" + path + "': Type of " + (i == 0 ? "config" : "'" + path.prefix(i) + "'") + " is " + type.toString());
+	}
+	
+	/**
+	 * Returns a copy of the specified tree without the element at the specified path.
+	 * Removing an element from a list shifts the subsequent elements.
+	 * @param root The root of the tree. Not null.
+	 * @param path The dot-separated path. Not null. Not empty.
+	 * @return The new root. The specified root if the element does not exist. Not null.
+	 * @throws ConfigError If the path is empty.
+	 */
+	static ConfigElement remove(ConfigElement root, String path) throws ConfigError {
+		return remove(root, parse(path));
+	}
+	
+	/**
+	 * Returns a copy of the specified tree without the element at the specified path.
+	 * Removing an element from a list shifts the subsequent elements.
+	 * @param root The root of the tree. Not null.
+	 * @param path The path. Not null. Not {@link ConfigPath#ROOT}.
+	 * @return The new root. The specified root if the element does not exist. Not null.
+	 * @throws ConfigError If the path is the root.
+	 */
+	static ConfigElement remove(ConfigElement root, ConfigPath path) throws ConfigError {
+		if (path.length() == 0) {
+			throw new ConfigError("Cannot remove the root element");
+		}
+		return remove(root, path, 0);
+	}
+	
+	private static ConfigElement remove(ConfigElement element, ConfigPath path, int i) {
+		String key = path.segment(i);
+		boolean last = i == path.length() - 1;
+		Type type = element.getType();
+		if (type == Type.OBJECT) {
+			ConfigElement child = element.getOrNull(key);
+			if (child == null) {
+				return element;
+			}
+			ConfigElement newChild = last ? null : remove(child, path, i + 1);
+			return child == newChild ? element : copyObject(element, key, newChild);
+		}
+		if (type == Type.LIST) {
+			int index = parseIndex(key);
+			ConfigElement child = element.getOrNull(index);
+			if (child == null) {
+				return element;
+			}
+			ConfigElement newChild = last ? null : remove(child, path, i + 1);
+			return child == newChild ? element : copyList(element, index, newChild);
+		}
+		return element;
+	}
+	
+	/**
+	 * Parses a dot-separated path. The empty string is the root.
+	 * @param path The path. Not null.
+	 * @return The parsed path. Not null.
+	 */
+	static ConfigPath parse(String path) {
+		return path.isEmpty() ? ConfigPath.ROOT : ConfigPath.of(path);
+	}
+	
+	/**
+	 * Returns a tree that equals the specified new tree, but reuses the elements of the old tree wherever they are equal.
+	 * <p>
+	 * This is used if the new tree has been parsed from scratch, so that unchanged subtrees are shared
+	 * and only the changed elements are kept in memory twice.
+	 * Only subtrees at the same path are shared. Unlike {@link ConfigElement#equals(Object)}, the original types must be equal too,
+	 * so an element whose original type has changed is replaced, e.g. a TOML string that has become a date.
+	 * @param oldElement The root of the old tree. Not null.
+	 * @param newElement The root of the new tree. Not null.
+	 * @return The new root. The old root if the trees are equal. Not null.
+	 */
+	static ConfigElement share(ConfigElement oldElement, ConfigElement newElement) {
+		if (oldElement == newElement) {
+			return oldElement;
+		}
+		Type type = newElement.getType();
+		if (type != oldElement.getType() || !newElement.getFullName().equals(oldElement.getFullName())) {
+			return newElement;
+		}
+		if (newElement.typedDigest() == oldElement.typedDigest()) {
+			return oldElement;
+		}
+		if (type == Type.OBJECT) {
+			Map<String, ConfigElement> map = new HashMap<>();
+			for (String key : newElement.getKeys()) {
+				ConfigElement child = newElement.getOrNull(key);
+				ConfigElement oldChild = oldElement.getOrNull(key);
+				map.put(key, oldChild != null ? share(oldChild, child) : child);
+			}
+			return new ConfigObject(newElement.getName(), newElement.getFullName(), map, newElement.getOriginalType());
+		}
+		if (type == Type.LIST) {
+			int size = newElement.size();
+			List<ConfigElement> list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				ConfigElement child = newElement.getOrNull(i);
+				ConfigElement oldChild = oldElement.getOrNull(i);
+				list.add(oldChild != null ? share(oldChild, child) : child);
+			}
+			return new ConfigList(newElement.getName(), newElement.getFullName(), list, newElement.getOriginalType());
+		}
+		return newElement;
+	}
+	
+	/**
+	 * Merges the specified objects into a single object.
+	 * <p>
+	 * Entries that are defined by a single object are shared. Entries that are defined by multiple objects are merged recursively
+	 * if all of them are objects. Otherwise, the entry conflicts and a {@link ConfigError} is thrown.
+	 * @param objects The objects in the order they are merged. Not null. Not empty. All elements must be objects at the same path.
+	 * @param sources The names of the sources of the objects, used in error messages. Not null. Same size as the objects.
+	 * @return The merged object. Not null.
+	 * @throws ConfigError If an entry is defined by multiple objects and at least one of them is not an object.
+	 */
+	static ConfigElement merge(List<ConfigElement> objects, List<String> sources) throws ConfigError {
+		ConfigElement first = objects.get(0);
+		if (objects.size() == 1) {
+			return first;
+		}
+		Map<String, List<Integer>> definedBy = new LinkedHashMap<>();
+		for (int i = 0; i < objects.size(); i++) {
+			for (String key : objects.get(i).getKeys()) {
+				definedBy.computeIfAbsent(key, k -> new ArrayList<>(1)).add(i);
+			}
+		}
+		
+		Map<String, ConfigElement> map = new HashMap<>();
+		for (Entry<String, List<Integer>> entry : definedBy.entrySet()) {
+			String key = entry.getKey();
+			List<Integer> indices = entry.getValue();
+			if (indices.size() == 1) {
+				map.put(key, objects.get(indices.get(0)).getOrNull(key));
+				continue;
+			}
+			List<ConfigElement> children = new ArrayList<>(indices.size());
+			List<String> childSources = new ArrayList<>(indices.size());
+			boolean mergeable = true;
+			for (int i : indices) {
+				ConfigElement child = objects.get(i).getOrNull(key);
+				// The first entry that is not an object, or that follows one, cannot be merged with the earlier entries.
+				mergeable &= child.getType() == Type.OBJECT;
+				if (!mergeable && !children.isEmpty()) {
+					throw new ConfigError("Failed to merge '" + sources.get(i) + "': '" + child.getFullName() + "' does already exist");
+				}
+				children.add(child);
+				childSources.add(sources.get(i));
+			}
+			map.put(key, merge(children, childSources));
+		}
+		return new ConfigObject(first.getName(), first.getFullName(), map, first.getOriginalType());
+	}
+	
+	/**
+	 * Returns the specified element with the specified names.
+	 * If the names differ, the element and its children are copied.
+	 * @param element The element. Not null.
+	 * @param name The new name. Not null.
+	 * @param fullName The new full name. Not null.
+	 * @return The element with the specified names. Not null.
+	 */
+	static ConfigElement rename(ConfigElement element, String name, String fullName) {
+		if (element.getName().equals(name) && element.getFullName().equals(fullName)) {
+			return element;
+		}
+		String originalType = element.getOriginalType();
+		switch (element.getType()) {
+		case OBJECT: {
+			Map<String, ConfigElement> map = new HashMap<>();
+			for (String key : element.getKeys()) {
+				map.put(key, rename(element.getOrNull(key), key, childFullName(fullName, key)));
+			}
+			return new ConfigObject(name, fullName, map, originalType);
+		}
+		case LIST: {
+			int size = element.size();
+			List<ConfigElement> list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				String key = String.valueOf(i);
+				list.add(rename(element.getOrNull(i), key, childFullName(fullName, key)));
+			}
+			return new ConfigList(name, fullName, list, originalType);
+		}
+		case STRING:
+			if (ConfigTemporalString.isTemporalType(originalType)) {
+				return new ConfigTemporalString(name, fullName, element.getString(), originalType);
+			}
+			return new ConfigString(name, fullName, element.getString(), originalType);
+		case INTEGER:
+			return new ConfigInt(name, fullName, element.getLong(), originalType);
+		case FLOAT:
+			return new ConfigFloat(name, fullName, element.getDouble(), originalType);
+		case BOOLEAN:
+			return new ConfigBoolean(name, fullName, element.getBoolean(), originalType);
+		default:
+			throw new ConfigError("Unsupported config element type " + element.getType());
+		}
+	}
+	
+	// Copies the object with the entry replaced. Removes the entry if the new child is null.
+	private static ConfigElement copyObject(ConfigElement object, String key, ConfigElement newChild) {
+		Map<String, ConfigElement> map = new HashMap<>();
+		for (String k : object.getKeys()) {
+			map.put(k, object.getOrNull(k));
+		}
+		if (newChild != null) {
+			map.put(key, newChild);
+		}
+		else {
+			map.remove(key);
+		}
+		return new ConfigObject(object.getName(), object.getFullName(), map, object.getOriginalType());
+	}
+	
+	// Copies the list with the element replaced or appended. Removes the element if the new child is null.
+	// Removing shifts the subsequent elements, so they must be renamed.
+	private static ConfigElement copyList(ConfigElement list, int index, ConfigElement newChild) {
+		int size = list.size();
+		List<ConfigElement> elements = new ArrayList<>(size + 1);
+		for (int i = 0; i < size; i++) {
+			if (i != index) {
+				ConfigElement e = list.getOrNull(i);
+				if (newChild == null && i > index) {
+					String key = String.valueOf(i - 1);
+					e = rename(e, key, childFullName(list, key));
+				}
+				elements.add(e);
+			}
+			else if (newChild != null) {
+				elements.add(newChild);
+			}
+		}
+		if (index == size) {
+			elements.add(newChild);
+		}
+		return new ConfigList(list.getName(), list.getFullName(), elements, list.getOriginalType());
+	}
+	
+	private static String childFullName(ConfigElement parent, String key) {
+		return childFullName(parent.getFullName(), key);
+	}
+	
+	private static String childFullName(String parentFullName, String key) {
+		return parentFullName.isEmpty() ? key : parentFullName + "." + key;
+	}
+	
+	private static int parseIndex(String key) {
+		try {
+			return Integer.parseInt(key);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -25,7 +25,13 @@ public enum ConfigType {
 	 * Uses the JSON parser to parse the configuration.
 	 * The parser will be able to read non-strict JSON.
 	 */
-	JSON("json", "js");
+	JSON("json", "js"),
+	
+	/**
+	 * Reads the compact binary format that is written by {@link ConfigBinary}.
+	 * Binary configurations can be read from files and byte arrays, but not from a {@link java.io.Reader} or string.
+	 */
+	BINARY("tcfg");
 	
 	
 	private final String[] extensions;
@@ -62,6 +68,18 @@ public enum ConfigType {
 		return null;
 	}
 	
+	/**
+	 * Returns the config type of a file with the given extension that is found by its base name,
+	 * e.g. by {@link TomatenConfig#load(java.util.function.Supplier, java.nio.file.Path, String)}.
+	 * Binary files are not found by their base names, since they are usually compiled from a text file with the same base name.
+	 * @param extension The file extension. May be null.
+	 * @return The config type. Null if the file extension is not recognized or belongs to {@link #BINARY}.
+	 */
+	static ConfigType fromBaseNameExtension(String extension) {
+		ConfigType type = fromExtension(extension);
+		return type == BINARY ? null : type;
+	}
+	
 	/**
 	 * Returns the config type that corresponds to the extension of the given file name.
 	 * @param fileName The file name. May be null.
@@ -0,0 +1,506 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import dev.tomaten.config.ConfigElement.Type;
+
+/**
+ * Writes configurations as JSON or TOML.
+ * <p>
+ * The output is written directly from the {@link ConfigElement} tree to an {@link Appendable} or {@link OutputStream}.
+ * Unlike {@link ConfigElement#toJSON()}, no intermediate tree is created, so writing a configuration needs little memory
+ * regardless of its size.
+ * <p>
+ * A ConfigWriter is immutable and thread-safe. The options can be changed using {@link #withPretty(boolean)} and {@link #withSortedKeys(boolean)}.
+ * <pre>
+ * ConfigWriter.PRETTY.withSortedKeys(true).writeTOML(config, out);
+ * </pre>
+ * 
+ * @version 2026-10-19 created
+ * @since 1.0
+ */
+public final class ConfigWriter {
+	/**
+	 * Writes indented output with one entry per line. The keys are not sorted.
+	 */
+	public static final ConfigWriter PRETTY = new ConfigWriter(true, false);
+	
+	/**
+	 * Writes output without optional whitespace. The keys are not sorted.
+	 */
+	public static final ConfigWriter COMPACT = new ConfigWriter(false, false);
+	
+	private final boolean pretty;
+	private final boolean sortedKeys;
+	
+	private ConfigWriter(boolean pretty, boolean sortedKeys) {
+		this.pretty = pretty;
+		this.sortedKeys = sortedKeys;
+	}
+	
+	/**
+	 * Returns a ConfigWriter that writes pretty or compact output and has the same other options as this writer.
+	 * @param pretty If the output should be indented with one entry per line.
+	 * @return The ConfigWriter. Not null.
+	 */
+	public ConfigWriter withPretty(boolean pretty) {
+		return new ConfigWriter(pretty, this.sortedKeys);
+	}
+	
+	/**
+	 * Returns a ConfigWriter that sorts the keys of objects or keeps their order and has the same other options as this writer.
+	 * @param sortedKeys If the keys of objects should be sorted lexicographically.
+	 * Otherwise, they are written in the order of {@link ConfigElement#getKeys()}.
+	 * @return The ConfigWriter. Not null.
+	 */
+	public ConfigWriter withSortedKeys(boolean sortedKeys) {
+		return new ConfigWriter(this.pretty, sortedKeys);
+	}
+	
+	/**
+	 * Returns if this writer writes indented output with one entry per line.
+	 * @return If the output is pretty.
+	 */
+	public boolean isPretty() {
+		return this.pretty;
+	}
+	
+	/**
+	 * Returns if this writer sorts the keys of objects.
+	 * @return If the keys are sorted.
+	 */
+	public boolean isSortedKeys() {
+		return this.sortedKeys;
+	}
+	
+	
+	/**
+	 * Writes the specified element as JSON.
+	 * @param element The element. Not null.
+	 * @param out The output. Not null.
+	 * @throws ConfigError If the element contains a float that cannot be represented in JSON, or the output cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public void writeJSON(ConfigElement element, Appendable out) throws ConfigError {
+		requireNotNull(element, "The element ...");
+		requireNotNull(out, "The output ...");
+		try {
+			this.writeJSONValue(element, out, 0);
+			if (this.pretty) {
+				out.append('\n');
+			}
+		} catch (IOException e) {
+			throw new ConfigError("Failed to write the config", e);
+		}
+	}
+	
+	/**
+	 * Writes the specified configuration as JSON.
+	 * @param config The configuration. Not null.
+	 * @param out The output. Not null.
+	 * @throws ConfigError If the configuration contains a float that cannot be represented in JSON, or the output cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public void writeJSON(AbstractConfig<?> config, Appendable out) throws ConfigError {
+		requireNotNull(config, "The config ...");
+		this.writeJSON(config.getData(), out);
+	}
+	
+	/**
+	 * Writes the specified configuration as JSON encoded in UTF-8.
+	 * The stream is flushed, but not closed.
+	 * @param config The configuration. Not null.
+	 * @param out The stream. Not null.
+	 * @throws ConfigError If the configuration contains a float that cannot be represented in JSON, or the stream cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public void writeJSON(AbstractConfig<?> config, OutputStream out) throws ConfigError {
+		requireNotNull(out, "The output stream ...");
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		this.writeJSON(config, writer);
+		flush(writer);
+	}
+	
+	/**
+	 * Writes the specified object as a TOML document.
+	 * <p>
+	 * Objects are written as tables and lists of objects as arrays of tables.
+	 * Objects and lists of objects within other lists are written inline.
+	 * Dates and times are written as TOML dates and times if their {@link ConfigElement#getOriginalType() original type} is a TOML date or time type.
+	 * @param element The object. Not null.
+	 * @param out The output. Not null.
+	 * @throws ConfigError If the element is not an object or the output cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public void writeTOML(ConfigElement element, Appendable out) throws ConfigError {
+		requireNotNull(element, "The element ...");
+		requireNotNull(out, "The output ...");
+		if (element.getType() != Type.OBJECT) {
+			throw new ConfigError("Only objects can be written as TOML documents");
+		}
+		try {
+			this.writeTOMLTable(element, out, new ArrayList<>(), false, true);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to write the config", e);
+		}
+	}
+	
+	/**
+	 * Writes the specified configuration as a TOML document.
+	 * @param config The configuration. Not null.
+	 * @param out The output. Not null.
+	 * @throws ConfigError If the configuration is not an object or the output cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 * @see #writeTOML(ConfigElement, Appendable)
+	 */
+	public void writeTOML(AbstractConfig<?> config, Appendable out) throws ConfigError {
+		requireNotNull(config, "The config ...");
+		this.writeTOML(config.getData(), out);
+	}
+	
+	/**
+	 * Writes the specified configuration as a TOML document encoded in UTF-8.
+	 * The stream is flushed, but not closed.
+	 * @param config The configuration. Not null.
+	 * @param out The stream. Not null.
+	 * @throws ConfigError If the configuration is not an object or the stream cannot be written.
+	 * This may also wrap an {@link IOException}.
+	 * @see #writeTOML(ConfigElement, Appendable)
+	 */
+	public void writeTOML(AbstractConfig<?> config, OutputStream out) throws ConfigError {
+		requireNotNull(out, "The output stream ...");
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		this.writeTOML(config, writer);
+		flush(writer);
+	}
+	
+	private static void flush(Writer writer) throws ConfigError {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new ConfigError("Failed to write the config", e);
+		}
+	}
+	
+	private Collection<String> keys(ConfigElement object) {
+		Collection<String> keys = object.getKeys();
+		if (!this.sortedKeys) {
+			return keys;
+		}
+		List<String> sorted = new ArrayList<>(keys);
+		Collections.sort(sorted);
+		return sorted;
+	}
+	
+	private void newLine(Appendable out, int depth) throws IOException {
+		if (this.pretty) {
+			out.append('\n');
+			for (int i = 0; i < depth; i++) {
+				out.append('\t');
+			}
+		}
+	}
+	
+	
+	private void writeJSONValue(ConfigElement element, Appendable out, int depth) throws IOException, ConfigError {
+		switch (element.getType()) {
+		case OBJECT: {
+			Collection<String> keys = this.keys(element);
+			if (keys.isEmpty()) {
+				out.append("{}");
+				return;
+			}
+			out.append('{');
+			boolean first = true;
+			for (String key : keys) {
+				if (!first) {
+					out.append(',');
+				}
+				first = false;
+				this.newLine(out, depth + 1);
+				writeQuoted(key, out);
+				out.append(this.pretty ? ": " : ":");
+				this.writeJSONValue(element.getOrNull(key), out, depth + 1);
+			}
+			this.newLine(out, depth);
+			out.append('}');
+			return;
+		}
+		case LIST: {
+			int size = element.size();
+			if (size == 0) {
+				out.append("[]");
+				return;
+			}
+			out.append('[');
+			for (int i = 0; i < size; i++) {
+				if (i > 0) {
+					out.append(',');
+				}
+				this.newLine(out, depth + 1);
+				this.writeJSONValue(element.getOrNull(i), out, depth + 1);
+			}
+			this.newLine(out, depth);
+			out.append(']');
+			return;
+		}
+		case STRING:
+			writeQuoted(element.getString(), out);
+			return;
+		case INTEGER:
+			out.append(Long.toString(element.getLong()));
+			return;
+		case FLOAT: {
+			double value = element.getDouble();
+			if (Double.isNaN(value) || Double.isInfinite(value)) {
+				throw new ConfigError("Cannot write the config value of '" + element.getFullName() + "' as JSON: " + value);
+			}
+			out.append(Double.toString(value));
+			return;
+		}
+		case BOOLEAN:
+			out.append(element.getBoolean() ? "true" : "false");
+			return;
+		default:
+			throw new ConfigError("Unsupported config element type " + element.getType());
+		}
+	}
+	
+	/**
+	 * Writes the specified string as a quoted string with the escape sequences that JSON and TOML basic strings have in common.
+	 */
+	private static void writeQuoted(String str, Appendable out) throws IOException {
+		out.append('"');
+		int start = 0;
+		for (int i = 0, n = str.length(); i < n; i++) {
+			char c = str.charAt(i);
+			String escape;
+			switch (c) {
+			case '"':
+				escape = "\\\"";
+				break;
+			case '\\':
+				escape = "\\\\";
+				break;
+			case '\b':
+				escape = "\\b";
+				break;
+			case '\f':
+				escape = "\\f";
+				break;
+			case '\n':
+				escape = "\\n";
+				break;
+			case '\r':
+				escape = "\\r";
+				break;
+			case '\t':
+				escape = "\\t";
+				break;
+			default:
+				if (c >= 0x20 && c != 0x7F) {
+					continue;
+				}
+				escape = String.format("\\u%04x", (int) c);
+			}
+			// Unescaped characters are appended in runs.
+			out.append(str, start, i);
+			out.append(escape);
+			start = i + 1;
+		}
+		out.append(str, start, str.length());
+		out.append('"');
+	}
+	
+	
+	private static boolean isTable(ConfigElement element) {
+		return element.getType() == Type.OBJECT;
+	}
+	
+	private static boolean isArrayOfTables(ConfigElement element) {
+		if (element.getType() != Type.LIST || element.size() == 0) {
+			return false;
+		}
+		for (ConfigElement child : element.getList()) {
+			if (child.getType() != Type.OBJECT) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Writes the key/value pairs of the specified table, followed by its sub-tables and arrays of tables.
+	 * @param path The formatted keys of the table. Restored before returning.
+	 * @param arrayElement If the table is an element of an array of tables.
+	 * @param first If nothing has been written yet.
+	 * @return If nothing has been written yet after writing the table.
+	 */
+	private boolean writeTOMLTable(ConfigElement table, Appendable out, List<String> path, boolean arrayElement, boolean first) throws IOException, ConfigError {
+		Collection<String> keys = this.keys(table);
+		boolean hasValues = false;
+		boolean hasTables = false;
+		for (String key : keys) {
+			ConfigElement child = table.getOrNull(key);
+			if (isTable(child) || isArrayOfTables(child)) {
+				hasTables = true;
+			}
+			else {
+				hasValues = true;
+			}
+		}
+		
+		// Tables that only contain other tables are defined implicitly by their sub-tables.
+		if (!path.isEmpty() && (arrayElement || hasValues || !hasTables)) {
+			if (!first && this.pretty) {
+				out.append('\n');
+			}
+			out.append(arrayElement ? "[[" : "[");
+			appendPath(path, out);
+			out.append(arrayElement ? "]]\n" : "]\n");
+			first = false;
+		}
+		for (String key : keys) {
+			ConfigElement child = table.getOrNull(key);
+			if (isTable(child) || isArrayOfTables(child)) {
+				continue;
+			}
+			writeTOMLKey(key, out);
+			out.append(this.pretty ? " = " : "=");
+			this.writeTOMLValue(child, out);
+			out.append('\n');
+			first = false;
+		}
+		for (String key : keys) {
+			ConfigElement child = table.getOrNull(key);
+			path.add(formatTOMLKey(key));
+			if (isTable(child)) {
+				first = this.writeTOMLTable(child, out, path, false, first);
+			}
+			else if (isArrayOfTables(child)) {
+				for (ConfigElement element : child.getList()) {
+					first = this.writeTOMLTable(element, out, path, true, first);
+				}
+			}
+			path.remove(path.size() - 1);
+		}
+		return first;
+	}
+	
+	private static void appendPath(List<String> path, Appendable out) throws IOException {
+		for (int i = 0; i < path.size(); i++) {
+			if (i > 0) {
+				out.append('.');
+			}
+			out.append(path.get(i));
+		}
+	}
+	
+	private static boolean isBareKey(String key) {
+		if (key.isEmpty()) {
+			return false;
+		}
+		for (int i = 0, n = key.length(); i < n; i++) {
+			char c = key.charAt(i);
+			if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-')) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static void writeTOMLKey(String key, Appendable out) throws IOException {
+		if (isBareKey(key)) {
+			out.append(key);
+		}
+		else {
+			writeQuoted(key, out);
+		}
+	}
+	
+	private static String formatTOMLKey(String key) throws IOException {
+		if (isBareKey(key)) {
+			return key;
+		}
+		StringBuilder sb = new StringBuilder(key.length() + 2);
+		writeQuoted(key, sb);
+		return sb.toString();
+	}
+	
+	private void writeTOMLValue(ConfigElement element, Appendable out) throws IOException, ConfigError {
+		switch (element.getType()) {
+		case OBJECT: {
+			Collection<String> keys = this.keys(element);
+			if (keys.isEmpty()) {
+				out.append("{}");
+				return;
+			}
+			out.append(this.pretty ? "{ " : "{");
+			boolean first = true;
+			for (String key : keys) {
+				if (!first) {
+					out.append(this.pretty ? ", " : ",");
+				}
+				first = false;
+				writeTOMLKey(key, out);
+				out.append(this.pretty ? " = " : "=");
+				this.writeTOMLValue(element.getOrNull(key), out);
+			}
+			out.append(this.pretty ? " }" : "}");
+			return;
+		}
+		case LIST: {
+			int size = element.size();
+			out.append('[');
+			for (int i = 0; i < size; i++) {
+				if (i > 0) {
+					out.append(this.pretty ? ", " : ",");
+				}
+				this.writeTOMLValue(element.getOrNull(i), out);
+			}
+			out.append(']');
+			return;
+		}
+		case STRING:
+			if (ConfigTemporalString.isTemporalType(element.getOriginalType())) {
+				out.append(element.getString());
+			}
+			else {
+				writeQuoted(element.getString(), out);
+			}
+			return;
+		case INTEGER:
+			out.append(Long.toString(element.getLong()));
+			return;
+		case FLOAT: {
+			double value = element.getDouble();
+			if (Double.isNaN(value)) {
+				out.append("nan");
+			}
+			else if (Double.isInfinite(value)) {
+				out.append(value > 0 ? "inf" : "-inf");
+			}
+			else {
+				out.append(Double.toString(value));
+			}
+			return;
+		}
+		case BOOLEAN:
+			out.append(element.getBoolean() ? "true" : "false");
+			return;
+		default:
+			throw new ConfigError("Unsupported config element type " + element.getType());
+		}
+	}
+}
@@ -6,6 +6,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
 import java.util.Collection;
@@ -31,6 +32,7 @@ import dev.tomaten.json.generic.JSONElement;
  * 
  * @param <Self> The type of the actual config implementation.
  * 
+ * @version 2026-10-18 last modified
  * @version 2025-03-03 created
  * @since 1.0
  */
@@ -475,8 +477,18 @@ public interface IConfig<Self extends IConfig<?>> extends Iterable<Self> {
 	 * <p>
 	 * The string representation must match the format specified by {@link DateTimeFormatter#ISO_DATE_TIME}.
 	 * If the date-time has no zone or offset specified, the system default zone will be used.
+	 * <p>
+	 * The result is {@link ConfigElementTransformer#cacheable(ConfigElementTransformer) cached} per element.
+	 * Therefore, the system default zone is determined when an element is transformed for the first time.
 	 */
-	public static final ConfigElementTransformer<ZonedDateTime> TRANSFORMER_DATE_TIME = (element, type) -> {
+	public static final ConfigElementTransformer<ZonedDateTime> TRANSFORMER_DATE_TIME = ConfigElementTransformer.cacheable((element, type) -> {
+		// Date-times from TOML have already been parsed when the config was loaded.
+		if (element instanceof ConfigTemporalString) {
+			ZonedDateTime dateTime = ((ConfigTemporalString) element).toZonedDateTime();
+			if (dateTime != null) {
+				return dateTime;
+			}
+		}
 		String str = element.getString();
 		try {
 			TemporalAccessor temp = DateTimeFormatter.ISO_DATE_TIME.parse(str);
@@ -498,7 +510,7 @@ public interface IConfig<Self extends IConfig<?>> extends Iterable<Self> {
 		} catch (DateTimeParseException e) {
 			throw new ConfigError(e);
 		}
-	};
+	});
 	
 	
 	/**
@@ -542,15 +554,22 @@ public interface IConfig<Self extends IConfig<?>> extends Iterable<Self> {
 	 * A {@link ConfigElementTransformer} that parses the string representation of an element into a {@link LocalDate}.
 	 * <p>
 	 * The string representation must match the format specified by {@link DateTimeFormatter#ISO_LOCAL_DATE}.
+	 * The result is {@link ConfigElementTransformer#cacheable(ConfigElementTransformer) cached} per element.
 	 */
-	public static final ConfigElementTransformer<LocalDate> TRANSFORMER_LOCAL_DATE = (element, type) -> {
+	public static final ConfigElementTransformer<LocalDate> TRANSFORMER_LOCAL_DATE = ConfigElementTransformer.cacheable((element, type) -> {
+		if (element instanceof ConfigTemporalString) {
+			Temporal temporal = ((ConfigTemporalString) element).getTemporal();
+			if (temporal instanceof LocalDate) {
+				return (LocalDate) temporal;
+			}
+		}
 		String str = element.getString();
 		try {
 			return DateTimeFormatter.ISO_LOCAL_DATE.parse(str, LocalDate::from);
 		} catch (DateTimeParseException e) {
 			throw new ConfigError(e);
 		}
-	};
+	});
 	
 	/**
 	 * Returns a {@link ConfigValue} containing a {@link LocalDate} representation of the element represented by this config.
@@ -593,15 +612,22 @@ public interface IConfig<Self extends IConfig<?>> extends Iterable<Self> {
 	 * A {@link ConfigElementTransformer} that parses the string representation of an element into a {@link LocalTime}.
 	 * <p>
 	 * The string representation must match the format specified by {@link DateTimeFormatter#ISO_LOCAL_TIME}.
+	 * The result is {@link ConfigElementTransformer#cacheable(ConfigElementTransformer) cached} per element.
 	 */
-	public static final ConfigElementTransformer<LocalTime> TRANSFORMER_LOCAL_TIME = (element, type) -> {
+	public static final ConfigElementTransformer<LocalTime> TRANSFORMER_LOCAL_TIME = ConfigElementTransformer.cacheable((element, type) -> {
+		if (element instanceof ConfigTemporalString) {
+			Temporal temporal = ((ConfigTemporalString) element).getTemporal();
+			if (temporal instanceof LocalTime) {
+				return (LocalTime) temporal;
+			}
+		}
 		String str = element.getString();
 		try {
 			return DateTimeFormatter.ISO_LOCAL_TIME.parse(str, LocalTime::from);
 		} catch (DateTimeParseException e) {
 			throw new ConfigError(e);
 		}
-	};
+	});
 	
 	/**
 	 * Returns a {@link ConfigValue} containing a {@link LocalTime} representation of the element represented by this config.
@@ -873,6 +899,84 @@ public interface IConfig<Self extends IConfig<?>> extends Iterable<Self> {
 	public Spliterator<Self> spliterator();
 	
 	
+	/**
+	 * Returns a {@link ConfigIndex} over the list elements of this config, keyed by the value of their entry with the specified name.
+	 * <p>
+	 * The index is built on the first call and cached by the list, so subsequent calls with the same key do not scan the list again.
+	 * List elements that are not objects or whose entry does not exist or cannot be represented as a string are not indexed.
+	 * @param key The name of the entry to index by. Not null. Dots {@code '.'} are used as separator to navigate through nested elements.
+	 * @return The ConfigIndex. Not null.
+	 * @throws ConfigError If this config does not represent a list.
+	 */
+	public ConfigIndex<Self> indexBy(String key) throws ConfigError;
+	
+	
+	/**
+	 * Returns a new config that equals this config, except that the specified element is set at the specified path.
+	 * <p>
+	 * This config is not modified. The new config shares all elements with this config, except the objects and lists along the path,
+	 * so the cost depends on the depth of the path and the size of the copied objects and lists, but not on the size of the entire config.
+	 * Missing objects along the path are created. In lists, the index that equals the size of the list appends the element.
+	 * @param path The dot-separated path relative to this config. Not null. The empty string replaces the entire config.
+	 * @param value The element. Not null.
+	 * @return The new config. Not null.
+	 * @throws ConfigError If the path cannot be navigated, e.g. because a parent element is neither an object nor a list.
+	 * @see ConfigPatch
+	 */
+	public Self with(String path, ConfigElement value) throws ConfigError;
+	
+	/**
+	 * Returns a new config that equals this config, except that the specified string is set at the specified path.
+	 * @param path The dot-separated path relative to this config. Not null.
+	 * @param value The string. Not null.
+	 * @return The new config. Not null.
+	 * @throws ConfigError If the path cannot be navigated.
+	 * @see #with(String, ConfigElement)
+	 */
+	public Self with(String path, String value) throws ConfigError;
+	
+	/**
+	 * Returns a new config that equals this config, except that the specified integer is set at the specified path.
+	 * @param path The dot-separated path relative to this config. Not null.
+	 * @param value The integer.
+	 * @return The new config. Not null.
+	 * @throws ConfigError If the path cannot be navigated.
+	 * @see #with(String, ConfigElement)
+	 */
+	public Self with(String path, long value) throws ConfigError;
+	
+	/**
+	 * Returns a new config that equals this config, except that the specified float is set at the specified path.
+	 * @param path The dot-separated path relative to this config. Not null.
+	 * @param value The float.
+	 * @return The new config. Not null.
+	 * @throws ConfigError If the path cannot be navigated.
+	 * @see #with(String, ConfigElement)
+	 */
+	public Self with(String path, double value) throws ConfigError;
+	
+	/**
+	 * Returns a new config that equals this config, except that the specified boolean is set at the specified path.
+	 * @param path The dot-separated path relative to this config. Not null.
+	 * @param value The boolean.
+	 * @return The new config. Not null.
+	 * @throws ConfigError If the path cannot be navigated.
+	 * @see #with(String, ConfigElement)
+	 */
+	public Self with(String path, boolean value) throws ConfigError;
+	
+	/**
+	 * Returns a new config that equals this config, except that the element at the specified path is removed.
+	 * <p>
+	 * This config is not modified. Like {@link #with(String, ConfigElement)}, only the objects and lists along the path are copied.
+	 * Removing a list element shifts the subsequent elements.
+	 * @param path The dot-separated path relative to this config. Not null. Not empty.
+	 * @return The new config. Not null. If the element does not exist, it equals this config.
+	 * @throws ConfigError If the path is empty.
+	 */
+	public Self without(String path) throws ConfigError;
+	
+	
 	/**
 	 * Creates a {@link JSONElement} that represents this config element.
 	 * @return The {@link JSONElement}. Not null.
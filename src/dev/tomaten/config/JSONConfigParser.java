@@ -3,6 +3,7 @@ package dev.tomaten.config;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 
 import dev.tomaten.json.JSONReader;
@@ -20,6 +21,103 @@ class JSONConfigParser {
 		}
 	}
 	
+	/**
+	 * Reads the JSON input directly into a new instance of the binder's target class.
+	 * Only the values of entries that are addressed by a path with multiple segments are read as config elements.
+	 * All other values are converted while reading, so the config tree is not created.
+	 */
+	public static <T> T bind(Reader r, ConfigBinder<T> binder) throws ConfigError {
+		try {
+			JSONReader reader = new JSONReader(r);
+			reader.setStrict(false);
+			if (reader.type() == ElementType.OBJECT) {
+				return bindObject(reader, binder, "root", "");
+			}
+			ConfigElement rootElement = read(reader, "root", "");
+			if (rootElement == null) {
+				throw new ConfigError("Config is not present (null)");
+			}
+			return binder.bind(rootElement);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read JSON config", e);
+		}
+	}
+	
+	private static <T> T bindObject(JSONReader reader, ConfigBinder<T> binder, String name, String fullName) throws IOException, ConfigError {
+		Object target = binder.newInstance();
+		boolean[] set = new boolean[binder.size()];
+		ConfigElement[] groupElements = new ConfigElement[binder.groupCount()];
+		try {
+			reader.enterObject();
+			while (reader.nextEntry()) {
+				String key = reader.readKey(Long.MAX_VALUE);
+				String childFullName = (fullName.isEmpty() ? "" : fullName + ".") + key;
+				int slot = binder.directSlot(key);
+				if (slot >= 0) {
+					Object value = readValue(reader, binder.value(slot), key, childFullName);
+					if (value != null) {
+						binder.set(target, slot, value);
+						set[slot] = true;
+					}
+					continue;
+				}
+				
+				// Groups are read as config elements for ConfigBinder.finish. Unknown entries are skipped.
+				int group = binder.group(key);
+				if (group < 0) {
+					skip(reader, childFullName);
+					continue;
+				}
+				ConfigElement e = read(reader, key, childFullName);
+				if (e != null) {
+					groupElements[group] = e;
+				}
+			}
+			reader.exitObject();
+		} catch (IOException e) {
+			throw new ConfigError(msgReadError(ElementType.OBJECT, fullName), e);
+		}
+		return binder.finish(target, set, groupElements, name, fullName);
+	}
+	
+	/**
+	 * Reads a value that is described by the specified {@link ConfigBinder.Value}.
+	 * @return The value. Null if the JSON value is {@code null}.
+	 */
+	private static Object readValue(JSONReader reader, ConfigBinder.Value value, String name, String fullName) throws IOException, ConfigError {
+		ElementType type = reader.type();
+		if (value.nested != null && type == ElementType.OBJECT) {
+			return bindObject(reader, ConfigBinder.of(value.nested), name, fullName);
+		}
+		if (value.item != null && type == ElementType.ARRAY) {
+			ArrayList<Object> list = new ArrayList<>();
+			try {
+				reader.enterArray();
+				int index = 0;
+				while (reader.nextEntry()) {
+					// Indices are counted like in read(), so null entries do not shift the names of the following items.
+					String key = String.valueOf(index);
+					Object item = readValue(reader, value.item, key, (fullName.isEmpty() ? "" : fullName + ".") + key);
+					if (item != null) {
+						list.add(item);
+						index++;
+					}
+				}
+				reader.exitArray();
+			} catch (IOException e) {
+				throw new ConfigError(msgReadError(type, fullName), e);
+			}
+			return Collections.unmodifiableList(list);
+		}
+		
+		// Scalars and mismatching types are read as config element, so the conversion and its errors are the same as for a config tree.
+		ConfigElement e = read(reader, name, fullName);
+		if (e == null) {
+			return null;
+		}
+		return value.transformer.transform(e, e.getType());
+	}
+	
 	private static ConfigElement read(JSONReader reader, String name, String fullName) throws IOException, ConfigError {
 		ElementType type = reader.type();
 		try {
@@ -97,6 +195,55 @@ class JSONConfigParser {
 		throw new ConfigError(msgReadError(null, fullName) + ": Unknown JSON type");
 	}
 	
+	/**
+	 * Consumes the current JSON value without creating config elements.
+	 * Numbers are not parsed, since their values are dropped anyway.
+	 */
+	private static void skip(JSONReader reader, String fullName) throws IOException, ConfigError {
+		ElementType type = reader.type();
+		try {
+			switch (type) {
+				case STRING:
+					reader.readString(Long.MAX_VALUE);
+					return;
+				case NUMBER:
+					reader.readNumberString(Long.MAX_VALUE);
+					return;
+				case FALSE:
+					reader.readFalse();
+					return;
+				case TRUE:
+					reader.readTrue();
+					return;
+				case NULL:
+					reader.readNull();
+					return;
+				case ARRAY:
+					reader.enterArray();
+					while (reader.nextEntry()) {
+						skip(reader, fullName);
+					}
+					reader.exitArray();
+					return;
+				case OBJECT:
+					reader.enterObject();
+					while (reader.nextEntry()) {
+						reader.readKey(Long.MAX_VALUE);
+						skip(reader, fullName);
+					}
+					reader.exitObject();
+					return;
+				case INVALID:
+					throw new ConfigError(msgReadError(null, fullName) + ": Invalid JSON");
+			}
+		} catch (IOException e) {
+			throw new ConfigError(msgReadError(type, fullName), e);
+		}
+		
+		// Should only happen if new JSON ElementTypes are added
+		throw new ConfigError(msgReadError(null, fullName) + ": Unknown JSON type");
+	}
+	
 	private static String msgReadError(ElementType type, String fullName) {
 		return "Failed to read JSON config" + (type != null ? " " + type.toString() : "") +
 				(fullName.isEmpty() ? "" : " at '" + fullName + "'");
@@ -0,0 +1,192 @@
+package dev.tomaten.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.tomaten.json.generic.JSONElement;
+import dev.tomaten.json.generic.JSONObject;
+
+/**
+ * A view of multiple objects that are merged without copying them.
+ * <p>
+ * The layers are ordered by priority. If multiple layers contain an entry with the same key, the entry of the layer with the highest priority is used.
+ * If that entry and the entries of the following layers are objects, they are merged recursively by another view.
+ * An entry that is not an object hides the entries of all layers with a lower priority, and so does an object for the non-objects below it.
+ * <p>
+ * Looking up an entry probes every layer at most once. Child views are cached.
+ */
+class LayeredConfigObject extends ConfigElement {
+	// Highest priority first. At least two layers, all of them objects.
+	private final ConfigElement[] layers;
+	private volatile Set<String> keys;
+	private final ConcurrentHashMap<String, ConfigElement> children = new ConcurrentHashMap<>();
+	
+	private LayeredConfigObject(ConfigElement[] layers) {
+		super(layers[0].getName(), layers[0].getFullName(), layers[0].getOriginalType());
+		this.layers = layers;
+	}
+	
+	/**
+	 * Merges the specified elements.
+	 * @param layers The elements, highest priority first. Not null. Not empty.
+	 * @return The merged element. If the first element is not an object, the first element itself. Not null.
+	 */
+	static ConfigElement of(List<ConfigElement> layers) {
+		ConfigElement first = layers.get(0);
+		if (first.getType() != Type.OBJECT) {
+			return first;
+		}
+		List<ConfigElement> objects = new ArrayList<>(layers.size());
+		for (ConfigElement layer : layers) {
+			if (layer.getType() != Type.OBJECT) {
+				break;
+			}
+			if (layer instanceof LayeredConfigObject) {
+				Collections.addAll(objects, ((LayeredConfigObject) layer).layers);
+			}
+			else {
+				objects.add(layer);
+			}
+		}
+		if (objects.size() == 1) {
+			return first;
+		}
+		return new LayeredConfigObject(objects.toArray(new ConfigElement[0]));
+	}
+	
+	/**
+	 * Copies the merged entries of all views in the specified tree into {@link ConfigObject}s.
+	 * Subtrees that do not contain views are shared.
+	 * @param element The root of the tree. Not null.
+	 * @return The tree without views. The specified element if it does not contain views. Not null.
+	 */
+	static ConfigElement flatten(ConfigElement element) {
+		Type type = element.getType();
+		if (type == Type.OBJECT) {
+			boolean changed = element instanceof LayeredConfigObject;
+			Map<String, ConfigElement> map = new HashMap<>();
+			for (String key : element.getKeys()) {
+				ConfigElement child = element.getOrNull(key);
+				ConfigElement flat = flatten(child);
+				changed |= flat != child;
+				map.put(key, flat);
+			}
+			return changed ? new ConfigObject(element.getName(), element.getFullName(), map, element.getOriginalType()) : element;
+		}
+		if (type == Type.LIST) {
+			boolean changed = false;
+			List<ConfigElement> list = new ArrayList<>(element.size());
+			for (ConfigElement child : element.getList()) {
+				ConfigElement flat = flatten(child);
+				changed |= flat != child;
+				list.add(flat);
+			}
+			return changed ? new ConfigList(element.getName(), element.getFullName(), list, element.getOriginalType()) : element;
+		}
+		return element;
+	}
+	
+	@Override
+	public Type getType() {
+		return Type.OBJECT;
+	}
+	
+	@Override
+	public ConfigElement get(String name) throws ConfigError {
+		ConfigElement element = this.getOrNull(name);
+		if (element == null) {
+			String fullName = this.getFullName();
+			throw new ConfigError("Missing configuration key '" + name + "'" + (fullName.isEmpty() ? "" : " for '" + fullName + "'"));
+		}
+		return element;
+	}
+	
+	@Override
+	public ConfigElement getOrNull(String name) {
+		ConfigElement child = this.children.get(name);
+		if (child != null) {
+			return child;
+		}
+		List<ConfigElement> found = null;
+		for (ConfigElement layer : this.layers) {
+			ConfigElement element = layer.getOrNull(name);
+			if (element == null) {
+				continue;
+			}
+			if (found == null) {
+				if (element.getType() != Type.OBJECT) {
+					child = element;
+					break;
+				}
+				found = new ArrayList<>(this.layers.length);
+			}
+			else if (element.getType() != Type.OBJECT) {
+				break;
+			}
+			found.add(element);
+		}
+		if (found != null) {
+			child = of(found);
+		}
+		if (child == null) {
+			return null;
+		}
+		ConfigElement previous = this.children.putIfAbsent(name, child);
+		return previous != null ? previous : child;
+	}
+	
+	@Override
+	public Collection<String> getKeys() {
+		Set<String> keys = this.keys;
+		if (keys == null) {
+			keys = new LinkedHashSet<>();
+			for (ConfigElement layer : this.layers) {
+				keys.addAll(layer.getKeys());
+			}
+			keys = Collections.unmodifiableSet(keys);
+			this.keys = keys;
+		}
+		return keys;
+	}
+	
+	@Override
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		appendChildren(sb, true, entries(this), maxLength, maxDepth);
+	}
+	
+	@Override
+	public JSONElement toJSON() {
+		JSONObject obj = new JSONObject();
+		for (String key : this.getKeys()) {
+			obj.set(key, this.getOrNull(key).toJSON());
+		}
+		return obj;
+	}
+	
+	@Override
+	public boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+		return (other instanceof ConfigElement) && ((ConfigElement) other).getType() == Type.OBJECT &&
+				ConfigObject.equalEntries(this, (ConfigElement) other);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.digest());
+	}
+	
+	@Override
+	protected long computeDigest() {
+		return ConfigObject.objectDigest(this);
+	}
+}
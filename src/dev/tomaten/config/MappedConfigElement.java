@@ -0,0 +1,175 @@
+package dev.tomaten.config;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import dev.tomaten.json.generic.JSONArray;
+import dev.tomaten.json.generic.JSONElement;
+import dev.tomaten.json.generic.JSONObject;
+
+/**
+ * A read-only view of an object or list in the encoding of a binary configuration.
+ * <p>
+ * The children are not stored, but read from the encoding on every access.
+ * Objects find their entries by a binary search over the hashes of the keys, lists find their elements by an offset table.
+ * Containers with few children do not have tables and are searched sequentially.
+ * Scalar children are read into new elements, object and list children are returned as new views.
+ * Only the keys of an object are cached after they have been listed.
+ */
+class MappedConfigElement extends ConfigElement {
+	private final ConfigBinary.Data data;
+	private final Type type;
+	// The position of the child count of the container.
+	private final int start;
+	private final boolean indexed;
+	private volatile List<String> keys;
+	
+	MappedConfigElement(ConfigBinary.Data data, Type type, int start, boolean indexed, String name, String fullName, String originalType) {
+		super(name, fullName, originalType);
+		this.data = data;
+		this.type = type;
+		this.start = start;
+		this.indexed = indexed;
+	}
+	
+	@Override
+	public Type getType() {
+		return this.type;
+	}
+	
+	@Override
+	public ConfigElement get(String name) throws ConfigError {
+		if (this.type != Type.OBJECT) {
+			return super.get(name);
+		}
+		ConfigElement element = this.getOrNull(name);
+		if (element == null) {
+			String fullName = this.getFullName();
+			throw new ConfigError("Missing configuration key '" + name + "'" + (fullName.isEmpty() ? "" : " for '" + fullName + "'"));
+		}
+		return element;
+	}
+	
+	@Override
+	public ConfigElement getOrNull(String name) {
+		if (this.type != Type.OBJECT) {
+			return null;
+		}
+		int pos = this.data.findChild(this.start, this.indexed, name);
+		return pos >= 0 ? this.data.element(pos, name, ConfigBinary.childFullName(this.getFullName(), name), true) : null;
+	}
+	
+	@Override
+	public Collection<String> getKeys() {
+		if (this.type != Type.OBJECT) {
+			return super.getKeys();
+		}
+		List<String> keys = this.keys;
+		if (keys == null) {
+			int[] children = this.data.children(this.start, this.indexed, true);
+			keys = new ArrayList<>(children.length / 2);
+			for (int i = 0; i < children.length; i += 2) {
+				keys.add(this.data.string(children[i]));
+			}
+			keys = Collections.unmodifiableList(keys);
+			this.keys = keys;
+		}
+		return keys;
+	}
+	
+	@Override
+	public ConfigElement get(int index) throws ConfigError {
+		if (this.type != Type.LIST) {
+			return super.get(index);
+		}
+		ConfigElement element = this.getOrNull(index);
+		if (element == null) {
+			String fullName = this.getFullName();
+			throw new ConfigError("List index out of bounds" + (fullName.isEmpty() ? "" : " for '" + fullName + "'") +
+					": index=" + index + ", size=" + this.size());
+		}
+		return element;
+	}
+	
+	@Override
+	public ConfigElement getOrNull(int index) {
+		if (this.type != Type.LIST || index < 0 || index >= this.size()) {
+			return null;
+		}
+		String key = String.valueOf(index);
+		return this.data.element(this.data.listChild(this.start, this.indexed, index), key, ConfigBinary.childFullName(this.getFullName(), key), true);
+	}
+	
+	@Override
+	public int size() {
+		return this.type == Type.LIST ? this.data.size(this.start, this.indexed, false) : 0;
+	}
+	
+	@Override
+	public List<ConfigElement> getList() {
+		if (this.type != Type.LIST) {
+			return super.getList();
+		}
+		int size = this.size();
+		return new AbstractList<ConfigElement>() {
+			@Override
+			public ConfigElement get(int index) {
+				return MappedConfigElement.this.get(index);
+			}
+			
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+	
+	@Override
+	protected void appendString(StringBuilder sb, int maxLength, int maxDepth) {
+		super.appendString(sb, maxLength, maxDepth);
+		appendChildren(sb, this.type == Type.OBJECT, this.type == Type.OBJECT ? entries(this) : this.getList(), maxLength, maxDepth);
+	}
+	
+	@Override
+	public JSONElement toJSON() {
+		if (this.type == Type.OBJECT) {
+			JSONObject obj = new JSONObject();
+			for (String key : this.getKeys()) {
+				obj.set(key, this.getOrNull(key).toJSON());
+			}
+			return obj;
+		}
+		JSONArray array = new JSONArray();
+		for (ConfigElement element : this.getList()) {
+			array.add(element.toJSON());
+		}
+		return array;
+	}
+	
+	@Override
+	public boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+		if (!(other instanceof ConfigElement) || ((ConfigElement) other).getType() != this.type) {
+			return false;
+		}
+		if (this.type == Type.OBJECT) {
+			return ConfigObject.equalEntries(this, (ConfigElement) other);
+		}
+		return this.digest() == ((ConfigElement) other).digest() && this.getList().equals(((ConfigElement) other).getList());
+	}
+	
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.digest());
+	}
+	
+	@Override
+	protected long computeDigest() {
+		return this.type == Type.OBJECT ? ConfigObject.objectDigest(this) : ConfigList.listDigest(this.getList());
+	}
+}
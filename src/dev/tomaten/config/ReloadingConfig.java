@@ -0,0 +1,290 @@
+package dev.tomaten.config;
+
+import static de.tomatengames.util.RequirementUtil.requireNotNull;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A configuration that is reloaded automatically when its file changes.
+ * <p>
+ * The directory of the configuration file is watched using a {@link WatchService}.
+ * If the file is created, modified or replaced, it is parsed on a background thread.
+ * On every change in the directory, the real path, modification time and size of the file are checked too.
+ * This detects files that are replaced without an event for their own name, e.g. if the file is a symbolic link
+ * into a directory that is swapped atomically, like the {@code ..data} link of a Kubernetes ConfigMap volume.
+ * Afterwards, the new configuration is published by a single atomic reference swap.
+ * Readers never block and always see a complete configuration, either the old or the new one.
+ * Like every {@link ConfigHolder}, a snapshot can be {@link #pin() pinned} to read a consistent version.
+ * <p>
+ * If the file cannot be read or parsed, the current configuration is kept and the error is passed to the
+ * {@link #setErrorHandler(Consumer) error handler}. Runtime exceptions thrown by the error handler are ignored, so the file is still watched.
+ * <p>
+ * A ReloadingConfig can be created using {@link TomatenConfig#watch(Supplier, Path)} or {@link TomatenConfig#watch(Supplier, Path, String)}.
+ * It should be {@link #close() closed} if it is not needed anymore.
+ * 
+ * @param <C> The type of the configuration.
+ * 
+ * @version 2026-10-19 last modified
+ * @version 2026-10-18 created
+ * @since 1.0
+ */
+public class ReloadingConfig<C extends AbstractConfig<C>> extends ConfigHolder<C> implements AutoCloseable {
+	// Multiple events are usually created for a single change, e.g. if an editor truncates and writes the file.
+	private static final long DEBOUNCE_MILLIS = 50;
+	
+	private final Supplier<C> configFactory;
+	private final Path directory;
+	private final Path path;
+	private final String baseName;
+	private final WatchService watchService;
+	private final Thread thread;
+	private volatile Consumer<? super ConfigError> errorHandler;
+	private volatile boolean closed;
+	// The real paths, modification times and sizes of the config files. Only used by the watch thread after it has been started.
+	private List<FileState> fileState;
+	
+	/**
+	 * Loads the configuration and starts watching it.
+	 * @param configFactory The factory of the configuration. Not null.
+	 * @param directory The directory to watch. Not null.
+	 * @param path The path of the configuration file. Null if the file is searched by its base name.
+	 * @param baseName The base name of the configuration file. Null if the path is specified.
+	 * @throws ConfigError If the configuration cannot be loaded or the directory cannot be watched.
+	 */
+	ReloadingConfig(Supplier<C> configFactory, Path directory, Path path, String baseName) throws ConfigError {
+		super(loadConfig(configFactory, directory, path, baseName));
+		this.configFactory = configFactory;
+		this.directory = directory;
+		this.path = path;
+		this.baseName = baseName;
+		
+		WatchService watchService = null;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+					StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException e) {
+			if (watchService != null) {
+				try {
+					watchService.close();
+				} catch (IOException e2) {
+					e.addSuppressed(e2);
+				}
+			}
+			throw new ConfigError("Failed to watch the config directory '" + directory + "'", e);
+		}
+		this.watchService = watchService;
+		this.fileState = this.readFileState();
+		this.thread = new Thread(this::watch, "TomatenConfig-Reload " + (path != null ? path : directory.resolve(baseName)));
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+	
+	/**
+	 * Sets the handler that is called if the configuration cannot be reloaded or a {@link ConfigChangeListener} fails.
+	 * The handler is called on the thread that performs the reload.
+	 * @param errorHandler The error handler. Null to ignore errors.
+	 */
+	public void setErrorHandler(Consumer<? super ConfigError> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+	
+	/**
+	 * Reloads the configuration immediately.
+	 * If the content has not changed, the current configuration is kept.
+	 * <p>
+	 * The new configuration shares all unchanged objects and lists with the current configuration,
+	 * so keeping older versions in the {@link #setHistorySize(int) history} only costs the changed elements.
+	 * @return If a new configuration has been published.
+	 * @throws ConfigError If the configuration cannot be read or parsed. In this case, the current configuration is kept.
+	 * @throws RuntimeException If a {@link ConfigChangeListener} throws an exception. The configuration has been published anyway.
+	 */
+	public boolean reload() throws ConfigError {
+		C loaded = loadConfig(this.configFactory, this.directory, this.path, this.baseName);
+		while (true) {
+			Snapshot<C> current = this.pin();
+			ConfigElement currentData = current.getConfig().getData();
+			ConfigElement newData = ConfigTrees.share(currentData, loaded.getData());
+			if (newData == currentData) {
+				return false;
+			}
+			// Retry if a concurrent reload has published in the meantime.
+			if (this.compareAndPublish(current, loaded.newSubConfig(newData)) != null) {
+				return true;
+			}
+		}
+	}
+	
+	private static <C extends AbstractConfig<C>> C loadConfig(Supplier<C> configFactory, Path directory, Path path, String baseName) throws ConfigError {
+		requireNotNull(configFactory, "The config factory ...");
+		if (path != null) {
+			return TomatenConfig.load(configFactory, path);
+		}
+		return TomatenConfig.load(configFactory, directory, baseName);
+	}
+	
+	private boolean isRelevant(Path fileName) {
+		if (this.path != null) {
+			return fileName.equals(this.path.getFileName());
+		}
+		String name = fileName.toString();
+		return name.startsWith(this.baseName + ".") && ConfigType.fromBaseNameExtension(name.substring(this.baseName.length() + 1)) != null;
+	}
+	
+	private List<FileState> readFileState() {
+		if (this.path != null) {
+			return Collections.singletonList(FileState.read(this.path));
+		}
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+			for (Path file : stream) {
+				if (this.isRelevant(file.getFileName())) {
+					files.add(file);
+				}
+			}
+		} catch (IOException | DirectoryIteratorException e) {
+			// The directory cannot be read. The reload reports the error if the files are affected.
+		}
+		Collections.sort(files);
+		List<FileState> state = new ArrayList<>(files.size());
+		for (Path file : files) {
+			state.add(FileState.read(file));
+		}
+		return state;
+	}
+	
+	private void watch() {
+		try {
+			while (!this.closed) {
+				WatchKey key = this.watchService.take();
+				boolean relevant = false;
+				boolean valid = true;
+				while (key != null) {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							relevant = true;
+						}
+						else if (this.isRelevant((Path) event.context())) {
+							relevant = true;
+						}
+					}
+					valid &= key.reset();
+					key = this.watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+				}
+				
+				// Another entry in the directory may be the target of the config file, e.g. a symbolic link that has been swapped.
+				List<FileState> fileState = this.readFileState();
+				if (!fileState.equals(this.fileState)) {
+					relevant = true;
+				}
+				this.fileState = fileState;
+				
+				if (relevant) {
+					try {
+						this.reload();
+					} catch (ConfigError e) {
+						this.handleError(e);
+					} catch (RuntimeException e) {
+						this.handleError(new ConfigError("A config change listener failed", e));
+					}
+				}
+				if (!valid) {
+					this.handleError(new ConfigError("The config directory '" + this.directory + "' cannot be watched anymore"));
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+	
+	private void handleError(ConfigError error) {
+		Consumer<? super ConfigError> errorHandler = this.errorHandler;
+		if (errorHandler != null && !this.closed) {
+			try {
+				errorHandler.accept(error);
+			} catch (RuntimeException e) {
+				// A failing error handler must not stop the watch thread. There is no one left to report the failure to.
+				// Errors like OutOfMemoryError are not caught.
+			}
+		}
+	}
+	
+	/**
+	 * Stops watching the configuration file.
+	 * The current configuration stays available using {@link #get()}.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		try {
+			this.watchService.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		this.thread.interrupt();
+	}
+	
+	
+	// The real path, modification time and size of a config file.
+	private static final class FileState {
+		private final Path path;
+		// Null if the file does not exist or cannot be accessed.
+		private final Path realPath;
+		private final FileTime lastModified;
+		private final long size;
+		
+		private FileState(Path path, Path realPath, FileTime lastModified, long size) {
+			this.path = path;
+			this.realPath = realPath;
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+		
+		static FileState read(Path path) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+				return new FileState(path, path.toRealPath(), attributes.lastModifiedTime(), attributes.size());
+			} catch (IOException e) {
+				return new FileState(path, null, null, -1);
+			}
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			if (other == this) {
+				return true;
+			}
+			if (!(other instanceof FileState)) {
+				return false;
+			}
+			FileState state = (FileState) other;
+			return this.path.equals(state.path) && Objects.equals(this.realPath, state.realPath)
+					&& Objects.equals(this.lastModified, state.lastModified) && this.size == state.size;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.path, this.realPath, this.lastModified, this.size);
+		}
+	}
+}
@@ -6,14 +6,27 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import de.tomatengames.lib.compiler.CompilerException;
 
@@ -22,7 +35,7 @@ import de.tomatengames.lib.compiler.CompilerException;
  * <p>
  * This class provides methods to load configurations from files and other sources.
  * 
- * @version 2025-03-16 last modified
+ * @version 2026-10-19 last modified
  * @version 2025-02-15 created
  * @since 1.0
  */
@@ -58,6 +71,55 @@ public class TomatenConfig {
 	}
 	
 	
+	/**
+	 * Merges the specified configurations without copying them.
+	 * <p>
+	 * The configurations are ordered by priority, lowest priority first, e.g. {@code layer(defaults, site, host, env)}.
+	 * A value of a configuration overrides the values at the same path in the configurations before it.
+	 * Objects at the same path are merged recursively. Lists are not merged.
+	 * <p>
+	 * The result is a view of the specified configurations. Looking up a value probes every configuration at most once.
+	 * If values are looked up very frequently, the view can be materialized using {@link #flatten(AbstractConfig)}.
+	 * @param <C> The type of the configurations.
+	 * @param layers The configurations, lowest priority first. Not null. Not empty.
+	 * @return The merged configuration. Not null.
+	 */
+	@SafeVarargs
+	public static <C extends AbstractConfig<C>> C layer(C... layers) {
+		// Not passed to requireNotNull, since passing the generic varargs array on causes a lint warning.
+		if (layers == null) {
+			throw new NullPointerException("The layers must not be null");
+		}
+		if (layers.length <= 0) {
+			throw new IllegalArgumentException("No layers specified");
+		}
+		List<ConfigElement> elements = new ArrayList<>(layers.length);
+		for (int i = layers.length - 1; i >= 0; i--) {
+			requireNotNull(layers[i], "The layer ...");
+			elements.add(layers[i].getData());
+		}
+		C top = layers[layers.length - 1];
+		ConfigElement merged = LayeredConfigObject.of(elements);
+		return merged == top.getData() ? top : top.newSubConfig(merged);
+	}
+	
+	/**
+	 * Materializes the merged objects of a configuration created by {@link #layer(AbstractConfig...)}.
+	 * <p>
+	 * The merged objects are copied, so that looking up a value does not probe every layer.
+	 * All values that are not merged objects are shared with the layers.
+	 * @param <C> The type of the configuration.
+	 * @param config The configuration. Not null.
+	 * @return The materialized configuration. The specified configuration if it does not contain merged objects. Not null.
+	 */
+	public static <C extends AbstractConfig<C>> C flatten(C config) {
+		requireNotNull(config, "The config ...");
+		ConfigElement data = config.getData();
+		ConfigElement flat = LayeredConfigObject.flatten(data);
+		return flat == data ? config : config.newSubConfig(flat);
+	}
+	
+	
 	/**
 	 * Reads a configuration from the specified {@link Path}.
 	 * The file extension of the Path determines the parser to use.
@@ -86,6 +148,26 @@ public class TomatenConfig {
 	 * This may also wrap an {@link IOException}.
 	 */
 	public static <C extends AbstractConfig<C>> C load(Supplier<C> configFactory, Path path, ConfigType type) throws ConfigError {
+		type = detectType(path, type);
+		if (type == ConfigType.BINARY) {
+			return ConfigBinary.read(configFactory, readAllBytes(path));
+		}
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return load(configFactory, reader, path.toString(), type);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file", e);
+		}
+	}
+	
+	private static byte[] readAllBytes(Path path) throws ConfigError {
+		try {
+			return Files.readAllBytes(path);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file", e);
+		}
+	}
+	
+	static ConfigType detectType(Path path, ConfigType type) throws ConfigError {
 		if (type == ConfigType.AUTO_DETECT || type == null) {
 			Path filenamePath = path.getFileName();
 			if (filenamePath != null) {
@@ -96,11 +178,7 @@ public class TomatenConfig {
 		if (type == ConfigType.AUTO_DETECT || type == null) {
 			throw new ConfigError("Failed to detect config type from file name: " + path);
 		}
-		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-			return load(configFactory, reader, path.toString(), type);
-		} catch (IOException e) {
-			throw new ConfigError("Failed to read the config file", e);
-		}
+		return type;
 	}
 	
 	/**
@@ -134,6 +212,8 @@ public class TomatenConfig {
 				throw new ConfigError(e);
 			}
 			break;
+		case BINARY:
+			throw new ConfigError("Binary configs cannot be read as text");
 		case AUTO_DETECT:
 			throw new ConfigError("Cannot detect config file type");
 		}
@@ -172,9 +252,138 @@ public class TomatenConfig {
 	}
 	
 	
+	/**
+	 * Binds the specified configuration to a new instance of the specified class.
+	 * <p>
+	 * All non-static, non-transient fields declared by the class are read from the configuration.
+	 * By default, a field is read from the config key that equals the field name.
+	 * This can be changed using the {@link ConfigKey} annotation.
+	 * The class must have a constructor without parameters and the fields must not be final.
+	 * Supported field types are the same as for {@link ConfigBinding}.
+	 * Fields of other classes are bound recursively.
+	 * <p>
+	 * The binding plan of each class is created only once and cached.
+	 * If the annotation processor is available, the generated binders of {@link ConfigBinding} should be preferred.
+	 * @param <T> The type of the bound object.
+	 * @param config The configuration to bind. Not null.
+	 * @param type The class to bind the configuration to. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If the class cannot be bound or if a value is missing or invalid.
+	 */
+	public static <T> T bind(AbstractConfig<?> config, Class<T> type) throws ConfigError {
+		requireNotNull(config, "The config ...");
+		return bind(config.getData(), type);
+	}
+	
+	/**
+	 * Binds the specified config element to a new instance of the specified class.
+	 * @param <T> The type of the bound object.
+	 * @param element The config element to bind. Not null.
+	 * @param type The class to bind the element to. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If the class cannot be bound or if a value is missing or invalid.
+	 * @see #bind(AbstractConfig, Class)
+	 */
+	public static <T> T bind(ConfigElement element, Class<T> type) throws ConfigError {
+		requireNotNull(element, "The config element ...");
+		requireNotNull(type, "The type ...");
+		return ConfigBinder.of(type).bind(element);
+	}
+	
+	
+	/**
+	 * Reads the configuration at the specified {@link Path} directly into a new instance of the specified class.
+	 * The file extension of the Path determines the parser to use.
+	 * Text files are expected to be encoded in UTF-8.
+	 * @param <T> The type of the bound object.
+	 * @param path The {@link Path} to the configuration file that should be read. Not null.
+	 * @param type The class to bind the configuration to. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If the configuration could not be read, parsed or bound.
+	 * This may also wrap an {@link IOException}.
+	 * @see #bind(Reader, String, ConfigType, Class)
+	 */
+	public static <T> T bind(Path path, Class<T> type) throws ConfigError {
+		return bind(path, ConfigType.AUTO_DETECT, type);
+	}
+	
+	/**
+	 * Reads the configuration at the specified {@link Path} directly into a new instance of the specified class.
+	 * The {@link ConfigType} determines which parser should be used.
+	 * Text files are expected to be encoded in UTF-8. {@link ConfigType#BINARY Binary} files are decoded and bound afterwards.
+	 * @param <T> The type of the bound object.
+	 * @param path The {@link Path} to the configuration file that should be read. Not null.
+	 * @param configType The {@link ConfigType} that determines which parser should be used. Null is identical to {@link ConfigType#AUTO_DETECT}.
+	 * @param type The class to bind the configuration to. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If the configuration could not be read, parsed or bound.
+	 * This may also wrap an {@link IOException}.
+	 * @see #bind(Reader, String, ConfigType, Class)
+	 */
+	public static <T> T bind(Path path, ConfigType configType, Class<T> type) throws ConfigError {
+		configType = detectType(path, configType);
+		if (configType == ConfigType.BINARY) {
+			requireNotNull(type, "The type ...");
+			return ConfigBinder.of(type).bind(ConfigBinary.decode(readAllBytes(path)));
+		}
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return bind(reader, path.toString(), configType, type);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config file", e);
+		}
+	}
+	
+	/**
+	 * Reads a configuration from the specified {@link Reader} directly into a new instance of the specified class.
+	 * <p>
+	 * The result is the same as {@link #load(Supplier, Reader, String, ConfigType) loading} the configuration
+	 * and {@link #bind(AbstractConfig, Class) binding} it afterwards.
+	 * For JSON, the values are converted while the input is read, so the config tree is not created.
+	 * Only values that are addressed by a {@link ConfigKey} with multiple segments are read as config elements.
+	 * Other formats are loaded and bound afterwards.
+	 * @param <T> The type of the bound object.
+	 * @param reader The {@link Reader} to read the configuration from. Not null.
+	 * @param resourceName The name of the resource to read. May be null. The resource name is used to improve error messages.
+	 * @param configType The {@link ConfigType} that determines which parser should be used. Not null.
+	 * @param type The class to bind the configuration to. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If the configuration could not be read, parsed or bound.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public static <T> T bind(Reader reader, String resourceName, ConfigType configType, Class<T> type) throws ConfigError {
+		requireNotNull(type, "The type ...");
+		ConfigBinder<T> binder = ConfigBinder.of(type);
+		if (configType == ConfigType.JSON) {
+			return JSONConfigParser.bind(reader, binder);
+		}
+		// The TOML grammar may define a table after its children, so values cannot be bound in input order.
+		return binder.bind(load(Config::new, reader, resourceName, configType).getData());
+	}
+	
+	/**
+	 * Reads a configuration from the specified input string directly into a new instance of the specified class.
+	 * @param <T> The type of the bound object.
+	 * @param input The string to read the configuration from. Not null.
+	 * @param configType The {@link ConfigType} that determines which parser should be used. Not null.
+	 * @param type The class to bind the configuration to. Not null.
+	 * @return The bound object. Not null.
+	 * @throws ConfigError If the configuration could not be parsed or bound.
+	 * @see #bind(Reader, String, ConfigType, Class)
+	 */
+	public static <T> T bind(String input, ConfigType configType, Class<T> type) throws ConfigError {
+		try (Reader reader = new StringReader(input)) {
+			return bind(reader, null, configType, type);
+		} catch (IOException e) {
+			throw new ConfigError("Failed to read the config string", e);
+		}
+	}
+	
+	
 	/**
 	 * Reads a configuration with the specified base name from the specified directory.
 	 * This method searches for a file with the specified base name and an extension that matches a {@link ConfigType}.
+	 * {@link ConfigType#BINARY Binary} files are not considered, so a binary file that has been compiled from a text file
+	 * with the same base name does not make the base name ambiguous. Binary files are loaded by their paths.
 	 * If multiple files match the specified base name and have appropriate extensions, a {@link ConfigError} is thrown.
 	 * The file extension of the found file determines the parser that will be used.
 	 * The file is expected to be encoded in UTF-8.
@@ -188,6 +397,7 @@ public class TomatenConfig {
 	 * @return The configuration that was read. Not null.
 	 * @throws ConfigError If the configuration could not be found, read or parsed.
 	 * This may also wrap an {@link IOException}.
+	 * @see #openDirectory(Path)
 	 */
 	public static <C extends AbstractConfig<C>> C load(Supplier<C> configFactory, Path configDir, String configBaseName) throws ConfigError {
 		FoundPath found = findConfigPath(configDir, configBaseName);
@@ -201,8 +411,8 @@ public class TomatenConfig {
 		if (configDir == null || fileBaseName == null) {
 			return null;
 		}
-		try {
-			FoundPath[] found = Files.list(configDir).map(path -> {
+		try (Stream<Path> files = Files.list(configDir)) {
+			FoundPath[] found = files.map(path -> {
 				Path fileNamePath = path.getFileName();
 				if (fileNamePath == null) {
 					return null;
@@ -212,7 +422,7 @@ public class TomatenConfig {
 					return null;
 				}
 				String extension = fileName.substring(fileBaseName.length() + 1);
-				ConfigType type = ConfigType.fromExtension(extension);
+				ConfigType type = ConfigType.fromBaseNameExtension(extension);
 				if (type == null) {
 					return null;
 				}
@@ -228,18 +438,66 @@ public class TomatenConfig {
 			if (found.length == 1) {
 				return found[0];
 			}
-			throw new ConfigError("Config '" + fileBaseName + "' is ambiguous in the directory '" + configDir + "': Found " +
-				Arrays.stream(found).map(f -> "'" + f.fileName + "'").collect(Collectors.joining(", ")));
+			throw ambiguousError(configDir, fileBaseName, Arrays.asList(found));
 			
-		} catch (IOException e) {
+		} catch (IOException | UncheckedIOException e) {
 			throw new ConfigError("Failed to find config '" + fileBaseName + "' in directory '" + configDir + "'", e);
 		}
 	}
 	
-	private static class FoundPath {
-		private final Path path;
-		private final String fileName;
-		private final ConfigType type;
+	/**
+	 * Indexes the configuration files in the specified directory by their base names.
+	 * <p>
+	 * Unlike {@link #load(Supplier, Path, String)}, which lists the directory on every call,
+	 * the returned {@link ConfigDirectory} lists the directory once and finds configuration files without accessing the file system,
+	 * until the directory changes. This is useful if many configurations are loaded from a large directory.
+	 * @param configDir The directory. Not null.
+	 * @return The {@link ConfigDirectory}. Not null. Should be closed if it is not needed anymore.
+	 * @throws ConfigError If the directory cannot be listed or watched.
+	 * @see ConfigDirectory
+	 */
+	public static ConfigDirectory openDirectory(Path configDir) throws ConfigError {
+		return new ConfigDirectory(configDir);
+	}
+	
+	static ConfigError ambiguousError(Path configDir, String fileBaseName, Collection<FoundPath> found) {
+		return new ConfigError("Config '" + fileBaseName + "' is ambiguous in the directory '" + configDir + "': Found " +
+				found.stream().map(f -> "'" + f.fileName + "'").collect(Collectors.joining(", ")));
+	}
+	
+	/**
+	 * Lists the config files in the specified directory, grouped by their base names.
+	 * Files whose extension does not match a {@link ConfigType} are ignored.
+	 */
+	static Map<String, List<FoundPath>> listConfigPaths(Path configDir) throws ConfigError {
+		Map<String, List<FoundPath>> result = new TreeMap<>();
+		try (Stream<Path> files = Files.list(configDir)) {
+			files.forEach(path -> {
+				Path fileNamePath = path.getFileName();
+				if (fileNamePath == null) {
+					return;
+				}
+				String fileName = fileNamePath.toString();
+				int dot = fileName.lastIndexOf('.');
+				if (dot < 0) {
+					return;
+				}
+				ConfigType type = ConfigType.fromBaseNameExtension(fileName.substring(dot + 1));
+				if (type == null || !Files.isRegularFile(path)) {
+					return;
+				}
+				result.computeIfAbsent(fileName.substring(0, dot), k -> new ArrayList<>(1)).add(new FoundPath(path, fileName, type));
+			});
+		} catch (IOException | UncheckedIOException e) {
+			throw new ConfigError("Failed to list the config directory '" + configDir + "'", e);
+		}
+		return result;
+	}
+	
+	static class FoundPath {
+		final Path path;
+		final String fileName;
+		final ConfigType type;
 		
 		public FoundPath(Path path, String fileName, ConfigType type) {
 			this.path = path;
@@ -247,4 +505,214 @@ public class TomatenConfig {
 			this.type = type;
 		}
 	}
+	
+	
+	/**
+	 * Reads all configurations in the specified directory.
+	 * <p>
+	 * Every file whose extension matches a {@link ConfigType} is read, e.g. {@code dir/a.toml} and {@code dir/b.json}.
+	 * {@link ConfigType#BINARY Binary} files are not read, like by {@link #load(Supplier, Path, String)}.
+	 * Subdirectories are not searched. The directory is listed only once, and the files are parsed in parallel
+	 * using the common {@link ForkJoinPool}.
+	 * The files are expected to be encoded in UTF-8.
+	 * <p>
+	 * Like {@link #load(Supplier, Path, String)}, a {@link ConfigError} is thrown if multiple files have the same base name.
+	 * @param <C> The type of the configurations to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configurations to read. Not null. For example, {@code Config::new}.
+	 * @param configDir The directory to read the configurations from. Not null.
+	 * @return A map from the base name of each file, excluding the file extension, to its configuration. Sorted by the base names. Not null.
+	 * @throws ConfigError If the directory could not be listed, a base name is ambiguous or a configuration could not be read or parsed.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public static <C extends AbstractConfig<C>> Map<String, C> loadDirectory(Supplier<C> configFactory, Path configDir) throws ConfigError {
+		requireNotNull(configFactory, "The config factory ...");
+		requireNotNull(configDir, "The config directory ...");
+		Map<String, List<FoundPath>> found = listConfigPaths(configDir);
+		List<FoundPath> paths = new ArrayList<>(found.size());
+		for (Entry<String, List<FoundPath>> entry : found.entrySet()) {
+			if (entry.getValue().size() > 1) {
+				throw ambiguousError(configDir, entry.getKey(), entry.getValue());
+			}
+			paths.add(entry.getValue().get(0));
+		}
+		
+		List<C> configs = loadParallel(configFactory, paths);
+		Map<String, C> result = new TreeMap<>();
+		int i = 0;
+		for (String baseName : found.keySet()) {
+			result.put(baseName, configs.get(i++));
+		}
+		return result;
+	}
+	
+	/**
+	 * Reads all configuration fragments in the specified directory and merges them into a single configuration.
+	 * <p>
+	 * This supports {@code conf.d} style directories, where every file contributes entries to one configuration.
+	 * Every file whose extension matches a {@link ConfigType} is read, except {@link ConfigType#BINARY binary} files.
+	 * The root of every file must be an object.
+	 * The files are parsed in parallel using the common {@link ForkJoinPool} and merged in the lexical order of their file names,
+	 * so the result does not depend on the order in which the files are listed or parsed.
+	 * The files are expected to be encoded in UTF-8.
+	 * <p>
+	 * Objects that are defined by multiple fragments are merged.
+	 * If multiple fragments define the same value, or an object and a value at the same path, a {@link ConfigError} is thrown,
+	 * like for a duplicate table in a single TOML file.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param fragmentDir The directory that contains the fragments. Not null.
+	 * @return The merged configuration. If the directory does not contain fragments, an empty configuration. Not null.
+	 * @throws ConfigError If the directory could not be listed, a fragment could not be read or parsed or the fragments conflict.
+	 * This may also wrap an {@link IOException}.
+	 */
+	public static <C extends AbstractConfig<C>> C loadFragments(Supplier<C> configFactory, Path fragmentDir) throws ConfigError {
+		requireNotNull(configFactory, "The config factory ...");
+		requireNotNull(fragmentDir, "The fragment directory ...");
+		List<FoundPath> paths = new ArrayList<>();
+		for (List<FoundPath> list : listConfigPaths(fragmentDir).values()) {
+			paths.addAll(list);
+		}
+		if (paths.isEmpty()) {
+			return loadEmpty(configFactory);
+		}
+		paths.sort((a, b) -> a.fileName.compareTo(b.fileName));
+		
+		List<C> configs = loadParallel(configFactory, paths);
+		List<ConfigElement> roots = new ArrayList<>(configs.size());
+		List<String> sources = new ArrayList<>(configs.size());
+		for (int i = 0; i < configs.size(); i++) {
+			ConfigElement root = configs.get(i).getData();
+			if (root.getType() != ConfigElement.Type.OBJECT) {
+				throw new ConfigError("The config fragment '" + paths.get(i).path + "' is not an object");
+			}
+			roots.add(root);
+			sources.add(paths.get(i).path.toString());
+		}
+		ConfigElement merged = ConfigTrees.merge(roots, sources);
+		return configs.get(0).newSubConfig(merged);
+	}
+	
+	// Reads the configurations in parallel. The first error in the order of the paths is thrown.
+	private static <C extends AbstractConfig<C>> List<C> loadParallel(Supplier<C> configFactory, List<FoundPath> paths) throws ConfigError {
+		List<CompletableFuture<C>> futures = new ArrayList<>(paths.size());
+		for (FoundPath f : paths) {
+			futures.add(CompletableFuture.supplyAsync(() -> load(configFactory, f.path, f.type), ForkJoinPool.commonPool()));
+		}
+		List<C> configs = new ArrayList<>(paths.size());
+		for (CompletableFuture<C> future : futures) {
+			try {
+				configs.add(future.join());
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof ConfigError) {
+					throw (ConfigError) e.getCause();
+				}
+				throw e;
+			}
+		}
+		return configs;
+	}
+	
+	
+	/**
+	 * Reads a configuration from the specified {@link Path} asynchronously.
+	 * Reading and parsing the file is performed by the specified {@link Executor}, so the calling thread is not blocked.
+	 * The file extension of the Path determines the parser to use.
+	 * The file is expected to be encoded in UTF-8.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param path The {@link Path} to the configuration file that should be read. Not null.
+	 * @param executor The executor that reads the configuration. Not null.
+	 * @return A future that completes with the configuration that was read.
+	 * It completes exceptionally with a {@link ConfigError} if the configuration could not be read or parsed. Not null.
+	 * @see #load(Supplier, Path)
+	 */
+	public static <C extends AbstractConfig<C>> CompletableFuture<C> loadAsync(Supplier<C> configFactory, Path path, Executor executor) {
+		requireNotNull(configFactory, "The config factory ...");
+		requireNotNull(path, "The path ...");
+		requireNotNull(executor, "The executor ...");
+		// supplyAsync would complete with a CompletionException that wraps the ConfigError.
+		CompletableFuture<C> future = new CompletableFuture<>();
+		executor.execute(() -> {
+			try {
+				future.complete(load(configFactory, path));
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+	
+	/**
+	 * Reads multiple configurations asynchronously.
+	 * The configurations are read concurrently by the specified {@link Executor}.
+	 * The file extension of each Path determines the parser to use.
+	 * The files are expected to be encoded in UTF-8.
+	 * @param <C> The type of the configurations to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configurations to read. Not null. For example, {@code Config::new}.
+	 * @param paths The {@link Path}s to the configuration files that should be read. Not null. Must not contain null.
+	 * @param executor The executor that reads the configurations. Not null.
+	 * @return A future that completes with a map from each path to its configuration after all configurations have been read.
+	 * The map iterates in the order of the specified paths.
+	 * The future completes exceptionally with a {@link ConfigError} if any configuration could not be read or parsed. Not null.
+	 * @see #loadAsync(Supplier, Path, Executor)
+	 */
+	public static <C extends AbstractConfig<C>> CompletableFuture<Map<Path, C>> loadAllAsync(Supplier<C> configFactory, Collection<Path> paths,
+			Executor executor) {
+		requireNotNull(paths, "The paths ...");
+		Map<Path, CompletableFuture<C>> futures = new LinkedHashMap<>();
+		for (Path path : paths) {
+			futures.put(path, loadAsync(configFactory, path, executor));
+		}
+		CompletableFuture<Map<Path, C>> result = new CompletableFuture<>();
+		CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).whenComplete((v, error) -> {
+			if (error != null) {
+				// allOf wraps the error of the failed future in a CompletionException.
+				result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+				return;
+			}
+			Map<Path, C> configs = new LinkedHashMap<>();
+			futures.forEach((path, future) -> configs.put(path, future.join()));
+			result.complete(configs);
+		});
+		return result;
+	}
+	
+	
+	/**
+	 * Loads the configuration at the specified {@link Path} and reloads it automatically when the file changes.
+	 * The file extension of the Path determines the parser to use.
+	 * The file is expected to be encoded in UTF-8.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param path The {@link Path} to the configuration file that should be read. Not null.
+	 * @return The {@link ReloadingConfig}. Not null. Should be closed if it is not needed anymore.
+	 * @throws ConfigError If the configuration could not be read or parsed or if the file cannot be watched.
+	 * @see ReloadingConfig
+	 */
+	public static <C extends AbstractConfig<C>> ReloadingConfig<C> watch(Supplier<C> configFactory, Path path) throws ConfigError {
+		requireNotNull(path, "The path ...");
+		Path directory = path.toAbsolutePath().getParent();
+		if (directory == null) {
+			throw new ConfigError("Cannot watch the config file '" + path + "': It has no parent directory");
+		}
+		return new ReloadingConfig<>(configFactory, directory, path, null);
+	}
+	
+	/**
+	 * Loads the configuration with the specified base name from the specified directory and reloads it automatically when it changes.
+	 * The configuration file is searched in the same way as {@link #load(Supplier, Path, String)} does.
+	 * The file is searched again on every reload, so the file extension may change.
+	 * @param <C> The type of the configuration to read.
+	 * @param configFactory A factory that creates an uninitialized instance of the configuration to read. Not null. For example, {@code Config::new}.
+	 * @param configDir The directory to search for the configuration file. Not null.
+	 * @param configBaseName The base name of the configuration file, excluding the file extension. Not null.
+	 * @return The {@link ReloadingConfig}. Not null. Should be closed if it is not needed anymore.
+	 * @throws ConfigError If the configuration could not be found, read or parsed or if the directory cannot be watched.
+	 * @see ReloadingConfig
+	 */
+	public static <C extends AbstractConfig<C>> ReloadingConfig<C> watch(Supplier<C> configFactory, Path configDir, String configBaseName) throws ConfigError {
+		requireNotNull(configDir, "The config directory ...");
+		requireNotNull(configBaseName, "The config base name ...");
+		return new ReloadingConfig<>(configFactory, configDir, null, configBaseName);
+	}
 }
@@ -0,0 +1,184 @@
+package dev.tomaten.config.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigBinary;
+import dev.tomaten.config.ConfigElement;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigKey;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.TomatenConfig;
+
+class BinaryTest {
+	
+	static class App {
+		@ConfigKey("server.host")
+		private String host;
+		@ConfigKey("server.port")
+		private int port;
+		private Logging logging;
+	}
+	
+	static class Logging {
+		private String level;
+	}
+	
+	private static Config load(String input) {
+		return TomatenConfig.load(Config::new, input, ConfigType.JSON);
+	}
+	
+	@Test
+	public void testRoundTrip() {
+		Config config = load("{ db: { host: \"a\", port: 5432 }, ratio: -0.5, flags: [true, false], big: -9000000000, " +
+				"list: [ { x: 1 }, [], {} ], empty: \"\", unicode: \"\u00e4\u20ac\" }");
+		byte[] data = ConfigBinary.toBytes(config);
+		Config read = ConfigBinary.read(Config::new, data);
+		assertEquals(config, read);
+		assertEquals(config.getData().getName(), read.getData().getName());
+		assertEquals("list.0.x", read.getData().get("list").get(0).get("x").getFullName());
+		
+		ConfigElement port = config.getData().get("db").get("port");
+		assertEquals(port.getOriginalType(), read.getData().get("db").get("port").getOriginalType());
+		assertEquals(config.getData().get("list").getOriginalType(), read.getData().get("list").getOriginalType());
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ConfigBinary.write(config, out);
+		assertArrayEquals(data, out.toByteArray());
+	}
+	
+	@Test
+	public void testCompact() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			sb.append("{ \"hostname\": \"host\", \"port\": ").append(8000 + i).append(", \"enabled\": true },");
+		}
+		String json = sb.append("]").toString();
+		Config config = load(json);
+		byte[] data = ConfigBinary.toBytes(config);
+		// The keys are stored once.
+		assertTrue(data.length < json.getBytes(StandardCharsets.UTF_8).length / 2);
+		assertEquals(config, ConfigBinary.read(Config::new, data));
+	}
+	
+	@Test
+	public void testReadPath() {
+		Config config = load("{ a: { skipped: [1, 2, { deep: \"x\" }], b: [ 0.5, { c: \"found\" } ] }, z: 1 }");
+		byte[] data = ConfigBinary.toBytes(config);
+		Config part = ConfigBinary.read(Config::new, data, "a.b.1");
+		assertEquals(config.getObject("a.b.1").orError(), part);
+		assertEquals("a.b.1.c", part.getData().get("c").getFullName());
+		assertEquals(1, ConfigBinary.read(Config::new, data, "z").getInt().orError());
+		
+		assertThrows(ConfigError.class, () -> ConfigBinary.read(Config::new, data, "a.missing"));
+		assertThrows(ConfigError.class, () -> ConfigBinary.read(Config::new, data, "a.b.2"));
+		assertThrows(ConfigError.class, () -> ConfigBinary.read(Config::new, data, "z.x"));
+	}
+	
+	@Test
+	public void testInvalid() {
+		byte[] data = ConfigBinary.toBytes(load("{ a: [1, 2, 3], b: \"str\" }"));
+		for (int len = 0; len < data.length; len++) {
+			byte[] truncated = Arrays.copyOf(data, len);
+			assertThrows(ConfigError.class, () -> ConfigBinary.read(Config::new, truncated));
+		}
+		byte[] wrongVersion = data.clone();
+		wrongVersion[4] = 1;
+		assertThrows(ConfigError.class, () -> ConfigBinary.read(Config::new, wrongVersion));
+		assertThrows(ConfigError.class, () -> ConfigBinary.read(Config::new, "{}".getBytes(StandardCharsets.UTF_8)));
+		assertThrows(ConfigError.class, () -> TomatenConfig.load(Config::new, "TCFG", ConfigType.BINARY));
+	}
+	
+	@Test
+	public void testMap() throws IOException {
+		StringBuilder sb = new StringBuilder("{ nested: { list: [1, { deep: \"x\" }, [true]] }, ");
+		for (int i = 0; i < 1000; i++) {
+			sb.append("key").append(i).append(": ").append(i).append(", ");
+		}
+		// "Aa" and "BB" have the same hash code.
+		Config config = load(sb.append("Aa: \"a\", BB: \"b\", ratio: 0.25 }").toString());
+		Path file = Files.createTempFile("tomatenconfig", ".tcfg");
+		try {
+			Files.write(file, ConfigBinary.toBytes(config));
+			Config mapped = ConfigBinary.map(Config::new, file);
+			assertEquals(config, mapped);
+			assertEquals(mapped, config);
+			assertEquals(config.hashCode(), mapped.hashCode());
+			assertEquals(config.getData().digest(), mapped.getData().digest());
+			
+			assertEquals(777, mapped.getInt("key777").orError());
+			assertEquals(0.25, mapped.getDouble("ratio").orError());
+			assertEquals("x", mapped.getString("nested.list.1.deep").orError());
+			assertEquals("nested.list.1.deep", mapped.getData().get("nested").get("list").get(1).get("deep").getFullName());
+			assertEquals(3, mapped.getData().get("nested").get("list").size());
+			assertEquals(1004, mapped.getData().getKeys().size());
+			assertEquals("a", mapped.getString("Aa").orError());
+			assertEquals("b", mapped.getString("BB").orError());
+			assertNull(mapped.getData().getOrNull("C#"));
+			assertNull(mapped.getData().getOrNull("key1000"));
+			assertNull(mapped.getData().get("nested").get("list").getOrNull(3));
+			assertThrows(ConfigError.class, () -> mapped.getData().get("missing"));
+			assertThrows(ConfigError.class, () -> mapped.getData().get("nested").get("list").get(5));
+			assertEquals(config.getData().get("nested").toString(), mapped.getData().get("nested").toString());
+			
+			// Persistent updates copy the mapped path.
+			Config updated = mapped.with("nested.list.0", 2);
+			assertEquals(2, updated.getInt("nested.list.0").orError());
+			assertEquals(1, mapped.getInt("nested.list.0").orError());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testBaseNameLookup() throws IOException {
+		// A binary file that has been compiled next to its source does not make the base name ambiguous.
+		Path dir = Files.createTempDirectory("tomatenconfig");
+		Path source = dir.resolve("app.json");
+		Path binary = dir.resolve("app.tcfg");
+		try {
+			Files.write(source, "{ from: \"json\" }".getBytes(StandardCharsets.UTF_8));
+			Files.write(binary, ConfigBinary.toBytes(load("{ from: \"binary\" }")));
+			assertEquals("json", TomatenConfig.load(Config::new, dir, "app").getString("from").orError());
+			assertEquals(Collections.singleton("app"), TomatenConfig.loadDirectory(Config::new, dir).keySet());
+			assertEquals("binary", TomatenConfig.load(Config::new, binary).getString("from").orError());
+		} finally {
+			Files.delete(source);
+			Files.delete(binary);
+			Files.delete(dir);
+		}
+	}
+	
+	@Test
+	public void testConfigType() {
+		assertEquals(ConfigType.BINARY, ConfigType.fromFileName("app.tcfg"));
+		assertEquals(TomatenConfig.load(Config::new, Paths.get("testdata/json/test1.json")),
+				TomatenConfig.load(Config::new, Paths.get("testdata/binary/test1.tcfg")));
+	}
+	
+	@Test
+	public void testBind() {
+		App app = TomatenConfig.bind(Paths.get("testdata/binary/test1.tcfg"), App.class);
+		assertEquals("localhost", app.host);
+		assertEquals(8080, app.port);
+		assertEquals("info", app.logging.level);
+		
+		app = TomatenConfig.bind(Paths.get("testdata/binary/test1.tcfg"), ConfigType.BINARY, App.class);
+		assertEquals(8080, app.port);
+	}
+}
@@ -0,0 +1,127 @@
+package dev.tomaten.config.test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigKey;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.TomatenConfig;
+
+class BindTest {
+	
+	enum Mode {
+		FAST, SAFE
+	}
+	
+	static class Replica {
+		private String host;
+		private int port;
+	}
+	
+	static class Database {
+		private String host;
+		private int port;
+		@ConfigKey("pool.size")
+		private long poolSize;
+		@ConfigKey(optional = true)
+		private double timeout = 5.0;
+		private boolean readOnly;
+		private Mode mode;
+		private LocalDate since;
+		private List<Replica> replicas;
+		private List<List<Integer>> matrix;
+		private transient String ignored = "ignored";
+	}
+	
+	static class RootMode {
+		// Two empty keys. Since the full names of both are empty, the bound element looks like the root.
+		@ConfigKey(".")
+		private Mode mode;
+	}
+	
+	static class FinalField {
+		private final String value = "";
+	}
+	
+	@Test
+	public void testBind() {
+		Config config = TomatenConfig.load(Config::new, "{ host: \"localhost\", port: 5432, pool: { size: 10 }, readOnly: true, mode: \"SAFE\", since: \"2025-03-15\", " +
+				"replicas: [ { host: \"a\", port: 1 }, { host: \"b\", port: 2 } ], matrix: [ [1, 2], [3] ] }", ConfigType.JSON);
+		Database db = TomatenConfig.bind(config, Database.class);
+		assertEquals("localhost", db.host);
+		assertEquals(5432, db.port);
+		assertEquals(10L, db.poolSize);
+		assertEquals(5.0, db.timeout);
+		assertEquals(true, db.readOnly);
+		assertEquals(Mode.SAFE, db.mode);
+		assertEquals(LocalDate.of(2025, 3, 15), db.since);
+		assertEquals(2, db.replicas.size());
+		assertEquals("b", db.replicas.get(1).host);
+		assertEquals(2, db.replicas.get(1).port);
+		assertEquals(asList(asList(1, 2), asList(3)), db.matrix);
+		assertEquals("ignored", db.ignored);
+	}
+	
+	@Test
+	public void testBindErrors() {
+		Config config = TomatenConfig.load(Config::new, "{ host: \"a\", port: 1, pool: { size: 1 }, readOnly: false, mode: \"X\", since: \"2025-03-15\", replicas: [], matrix: [] }", ConfigType.JSON);
+		assertEquals("Invalid config value for 'mode': 'X' is not one of FAST, SAFE",
+				assertThrows(ConfigError.class, () -> TomatenConfig.bind(config, Database.class)).getMessage());
+		
+		Config root = TomatenConfig.load(Config::new, "{ \"\": { \"\": \"X\" } }", ConfigType.JSON);
+		assertEquals("Invalid config value: 'X' is not one of FAST, SAFE",
+				assertThrows(ConfigError.class, () -> TomatenConfig.bind(root, RootMode.class)).getMessage());
+		
+		Config missing = TomatenConfig.load(Config::new, "{ port: 1 }", ConfigType.JSON);
+		assertEquals("Cannot access 'host': Not found", assertThrows(ConfigError.class, () -> TomatenConfig.bind(missing, Replica.class)).getMessage());
+		
+		assertThrows(ConfigError.class, () -> TomatenConfig.bind(missing, FinalField.class));
+		assertThrows(ConfigError.class, () -> TomatenConfig.bind(missing, Runnable.class));
+	}
+	
+	@Test
+	public void testBindDirect() {
+		String input = "{ unknown: { a: [1, 2.5e3, { b: \"x\", c: [] }, null, true, false], d: {} }, host: \"localhost\", port: 5432, pool: { size: 10, other: 1 }, readOnly: true, mode: \"SAFE\", " +
+				"since: \"2025-03-15\", replicas: [ { host: \"a\", port: 1 }, null, { host: \"b\", port: 2 } ], matrix: [ [1, 2], [3] ], timeout: null }";
+		Database db = TomatenConfig.bind(input, ConfigType.JSON, Database.class);
+		assertEquals("localhost", db.host);
+		assertEquals(5432, db.port);
+		assertEquals(10L, db.poolSize);
+		assertEquals(5.0, db.timeout);
+		assertEquals(true, db.readOnly);
+		assertEquals(Mode.SAFE, db.mode);
+		assertEquals(LocalDate.of(2025, 3, 15), db.since);
+		assertEquals(2, db.replicas.size());
+		assertEquals("b", db.replicas.get(1).host);
+		assertEquals(asList(asList(1, 2), asList(3)), db.matrix);
+		
+		// Unknown entries are skipped without reading them as config elements, but must still be valid JSON.
+		assertThrows(ConfigError.class, () -> TomatenConfig.bind("{ unknown: [1, }, host: \"a\" }", ConfigType.JSON, Database.class));
+	}
+	
+	@Test
+	public void testBindDirectErrors() {
+		// The error messages must be the same as if the config tree was bound.
+		for (String input : asList(
+				"{ port: 1 }",
+				"{ host: \"a\", port: 1, pool: 5, readOnly: false, mode: \"SAFE\", since: \"2025-03-15\", replicas: [], matrix: [] }",
+				"{ host: \"a\", port: 1, pool: {}, readOnly: false, mode: \"SAFE\", since: \"2025-03-15\", replicas: [], matrix: [] }",
+				"{ host: \"a\", port: 1, readOnly: false, mode: \"SAFE\", since: \"2025-03-15\", replicas: [], matrix: [] }",
+				"{ host: \"a\", port: 1, pool: { size: 1 }, readOnly: false, mode: \"SAFE\", since: \"2025-03-15\", replicas: [ {}, { port: 1 } ], matrix: [] }",
+				"{ host: \"a\", port: 1, pool: { size: 1 }, readOnly: false, mode: \"SAFE\", since: \"2025-03-15\", replicas: [], matrix: [ 1 ] }",
+				"{ host: \"a\", port: 1, pool: { size: 1 }, readOnly: false, mode: \"X\", since: \"2025-03-15\", replicas: {}, matrix: [] }",
+				"[]")) {
+			Config config = TomatenConfig.load(Config::new, input, ConfigType.JSON);
+			String expected = assertThrows(ConfigError.class, () -> TomatenConfig.bind(config, Database.class)).getMessage();
+			assertEquals(expected, assertThrows(ConfigError.class, () -> TomatenConfig.bind(input, ConfigType.JSON, Database.class)).getMessage());
+		}
+	}
+}
@@ -1,17 +1,33 @@
 package dev.tomaten.config.test;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigDiff;
 import dev.tomaten.config.ConfigElement.Type;
+import dev.tomaten.config.ConfigElementTransformer;
 import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigLoader;
+import dev.tomaten.config.ConfigPath;
 import dev.tomaten.config.ConfigType;
 import dev.tomaten.config.TomatenConfig;
 
@@ -81,6 +97,84 @@ class GeneralTest {
 	}
 	
 	
+	@Test
+	public void testConfigPath() {
+		Config config = TomatenConfig.load(Config::new, "{ a: { b: [ { c: 1 }, { c: 2 } ] }, x: \"str\" }", ConfigType.JSON);
+		assertEquals(2, ConfigPath.of("a.b.1.c").get(config.getData()).getInt());
+		assertEquals(null, ConfigPath.of("a.b.2.c").getOrNull(config.getData()));
+		assertEquals(null, ConfigPath.of("x.y").getOrNull(config.getData()));
+		assertEquals(asList("a", "b", "1", "c"), ConfigPath.of("a.b.1.c").getSegments());
+		ConfigError error = assertThrows(ConfigError.class, () -> ConfigPath.of("a.d.c").get(config.getData()));
+		assertEquals("Cannot access 'a.d.c': Element 'a.d' not found", error.getMessage());
+	}
+	
+	
+	@Test
+	public void testCacheableTransformer() {
+		Config config = TomatenConfig.load(Config::new, "{ a: 21, b: \"2025-03-15T10:00:00Z\" }", ConfigType.JSON);
+		AtomicInteger calls = new AtomicInteger();
+		ConfigElementTransformer<Integer> transformer = ConfigElementTransformer.cacheable((e, t) -> {
+			calls.incrementAndGet();
+			return e.getInt() * 2;
+		});
+		assertEquals(42, config.get("a", transformer).orError());
+		assertEquals(42, config.get("a", transformer).orError());
+		assertEquals(1, calls.get());
+		assertSame(transformer, ConfigElementTransformer.cacheable(transformer));
+		assertSame(config.getDateTime("b").orError(), config.getDateTime("b").orError());
+		
+		// Errors are not cached
+		assertThrows(ConfigError.class, () -> config.get("b", transformer).orError());
+		assertThrows(ConfigError.class, () -> config.get("b", transformer).orError());
+		assertEquals(3, calls.get());
+	}
+	
+	
+	@Test
+	public void testNumericStrings() {
+		Config config = TomatenConfig.load(Config::new, "{ a: \"42\", b: \"1.5\", c: \"TRUE\", d: \"x\" }", ConfigType.JSON);
+		Throwable lastCause = null;
+		for (int i = 0; i < 2; i++) {
+			assertEquals(42, config.getInt("a").orError());
+			assertEquals(42.0, config.getDouble("a").orError());
+			assertEquals(1.5, config.getDouble("b").orError());
+			assertEquals(-1, config.getInt("b").orDefaultIgnoreError(-1));
+			assertEquals(true, config.getBoolean("c").orError());
+			assertEquals(-1L, config.getLong("d").orDefaultIgnoreError(-1L));
+			assertThrows(ConfigError.class, () -> config.getLong("d").orError());
+			assertThrows(ConfigError.class, () -> config.getDouble("d").orError());
+			assertThrows(ConfigError.class, () -> config.getBoolean("d").orError());
+			
+			// Failed parses are cached, but each error gets its own cause.
+			Throwable cause = assertThrows(ConfigError.class, () -> config.getData().get("d").getLong()).getCause();
+			assertTrue(cause instanceof NumberFormatException);
+			assertNotSame(lastCause, cause);
+			lastCause = cause;
+		}
+	}
+	
+	
+	@Test
+	public void testDigest() {
+		Config a = TomatenConfig.load(Config::new, "{ x: { y: [1, 2.0, \"s\"], z: true }, w: 0.0 }", ConfigType.JSON);
+		Config b = TomatenConfig.load(Config::new, "{ w: -0.0, x: { z: true, y: [1, 2.0, \"s\"] } }", ConfigType.JSON);
+		Config c = TomatenConfig.load(Config::new, "{ x: { y: [1, 2.0, \"t\"], z: true }, w: 0.0 }", ConfigType.JSON);
+		assertEquals(a.getData().digest(), b.getData().digest());
+		assertEquals(a.getData().hashCode(), b.getData().hashCode());
+		assertEquals(a.getData(), b.getData());
+		assertFalse(a.getData().digest() == c.getData().digest());
+		assertFalse(a.getData().equals(c.getData()));
+		
+		assertTrue(ConfigDiff.between(a, b).isEmpty());
+		assertEquals(asList(ConfigPath.of("x.y.2")), ConfigDiff.between(a, c).getChangedPaths());
+		
+		Config d = TomatenConfig.load(Config::new, "{ x: { y: [1, 2.0], z: 1 }, v: 0.0 }", ConfigType.JSON);
+		assertEquals(new HashSet<>(asList(ConfigPath.of("x.y.2"), ConfigPath.of("x.z"), ConfigPath.of("w"), ConfigPath.of("v"))),
+				new HashSet<>(ConfigDiff.between(a, d).getChangedPaths()));
+		assertEquals(asList(ConfigPath.ROOT), ConfigDiff.between(a.getData().get("w"), d.getData().get("x")).getChangedPaths());
+	}
+	
+	
 	@Test
 	public void testFindConfigJSON() {
 		Config config = TomatenConfig.load(Config::new, Paths.get("testdata/general"), "test");
@@ -93,6 +187,135 @@ class GeneralTest {
 		assertEquals(7, config.getInt("x").orError());
 	}
 	
+	@Test
+	public void testLayer() {
+		Config defaults = TomatenConfig.load(Config::new, "{ db: { host: \"localhost\", port: 5432, pool: { size: 4 } }, tags: [1], debug: false }", ConfigType.JSON);
+		Config site = TomatenConfig.load(Config::new, "{ db: { host: \"db.site\", pool: { timeout: 5 } }, tags: [2, 3] }", ConfigType.JSON);
+		Config env = TomatenConfig.load(Config::new, "{ db: { pool: { size: 16 } }, debug: true, extra: \"x\" }", ConfigType.JSON);
+		Config layered = TomatenConfig.layer(defaults, site, env);
+		assertEquals("db.site", layered.getString("db.host").orError());
+		assertEquals(5432, layered.getInt("db.port").orError());
+		assertEquals(16, layered.getInt("db.pool.size").orError());
+		assertEquals(5, layered.getInt("db.pool.timeout").orError());
+		assertEquals(asList(2L, 3L), layered.getListOf("tags", c -> c.getLong().orError()).orError());
+		assertEquals(true, layered.getBoolean("debug").orError());
+		assertEquals(new HashSet<>(asList("db", "tags", "debug", "extra")), new HashSet<>(layered.getKeys()));
+		assertEquals("db.pool.size", layered.getData().get("db").get("pool").get("size").getFullName());
+		
+		Config expected = TomatenConfig.load(Config::new, "{ db: { host: \"db.site\", port: 5432, pool: { size: 16, timeout: 5 } }, tags: [2, 3], debug: true, extra: \"x\" }",
+				ConfigType.JSON);
+		assertEquals(expected, layered);
+		assertEquals(layered, expected);
+		assertEquals(expected.getData().digest(), layered.getData().digest());
+		assertTrue(ConfigDiff.between(expected, layered).isEmpty());
+		
+		Config flat = TomatenConfig.flatten(layered);
+		assertEquals(expected, flat);
+		assertSame(site.getData().get("tags"), flat.getData().get("tags"));
+		assertSame(flat, TomatenConfig.flatten(flat));
+		
+		// An object hides the values that are not objects in the layers below it, and vice versa.
+		Config scalar = TomatenConfig.load(Config::new, "{ db: 1 }", ConfigType.JSON);
+		assertEquals(1, TomatenConfig.layer(defaults, scalar).getInt("db").orError());
+		assertFalse(TomatenConfig.layer(defaults, scalar, site).exists("db.port"));
+		assertSame(env, TomatenConfig.layer(env));
+	}
+	
+	@Test
+	public void testLoadDirectory() {
+		Map<String, Config> configs = TomatenConfig.loadDirectory(Config::new, Paths.get("testdata/directory"));
+		assertEquals(asList("a", "b"), new ArrayList<>(configs.keySet()));
+		assertEquals(1, configs.get("a").getInt("port").orError());
+		assertEquals(2, configs.get("b").getInt("port").orError());
+		
+		assertThrows(ConfigError.class, () -> TomatenConfig.loadDirectory(Config::new, Paths.get("testdata/general")));
+		assertThrows(ConfigError.class, () -> TomatenConfig.loadDirectory(Config::new, Paths.get("testdata/missing")));
+	}
+	
+	@Test
+	public void testLoadFragments() {
+		Config config = TomatenConfig.loadFragments(Config::new, Paths.get("testdata/fragments"));
+		assertEquals(TomatenConfig.load(Config::new, "{ server: { host: \"localhost\", port: 8080 }, plugins: { a: { enabled: true }, b: { enabled: false } } }",
+				ConfigType.JSON), config);
+		assertEquals("plugins.b.enabled", config.getData().get("plugins").get("b").get("enabled").getFullName());
+		
+		ConfigError e = assertThrows(ConfigError.class, () -> TomatenConfig.loadFragments(Config::new, Paths.get("testdata/fragments-conflict")));
+		assertTrue(e.getMessage().endsWith("20-b.json': 'server.host' does already exist"));
+		
+		// The first fragment that cannot be merged with the earlier ones is reported.
+		e = assertThrows(ConfigError.class, () -> TomatenConfig.loadFragments(Config::new, Paths.get("testdata/fragments-conflict-scalar")));
+		assertTrue(e.getMessage().endsWith("30-c.json': 'server' does already exist"));
+	}
+	
+	@Test
+	public void testInclude() {
+		ConfigLoader loader = new ConfigLoader();
+		Config a = loader.load(Config::new, Paths.get("testdata/include/tenant-a.json"));
+		Config b = loader.load(Config::new, Paths.get("testdata/include/tenant-b.json"));
+		assertEquals(TomatenConfig.load(Config::new, "{ db: { host: \"a\", port: 5432 }, limits: { cpu: 1 }, features: [\"x\"] }", ConfigType.JSON), a);
+		assertEquals(TomatenConfig.load(Config::new, "{ db: { host: \"common\", port: 5432 }, limits: { cpu: 2 }, features: [\"x\"] }", ConfigType.JSON), b);
+		assertFalse(a.exists("include"));
+		
+		// The included files are parsed once and shared.
+		assertSame(a.getData().get("features"), b.getData().get("features"));
+		assertSame(a.getData(), loader.load(Config::new, Paths.get("testdata/include/tenant-a.json")).getData());
+		
+		assertThrows(ConfigError.class, () -> loader.load(Config::new, Paths.get("testdata/include/cycle-a.json")));
+		assertThrows(ConfigError.class, () -> loader.load(Config::new, Paths.get("testdata/include/invalid.json")));
+		assertThrows(ConfigError.class, () -> loader.load(Config::new, Paths.get("testdata/include/missing.json")));
+	}
+	
+	@Test
+	public void testLoadAsync() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Config config = TomatenConfig.loadAsync(Config::new, Paths.get("testdata/general/test.json"), executor).get();
+			assertEquals(42, config.getInt("a").orError());
+			
+			List<Path> paths = asList(Paths.get("testdata/general/test.json"), Paths.get("testdata/json/test1.json"));
+			Map<Path, Config> configs = TomatenConfig.loadAllAsync(Config::new, paths, executor).get();
+			assertEquals(paths, new ArrayList<>(configs.keySet()));
+			assertEquals(config, configs.get(paths.get(0)));
+			assertEquals(TomatenConfig.load(Config::new, paths.get(1)), configs.get(paths.get(1)));
+			
+			ExecutionException e = assertThrows(ExecutionException.class, () -> TomatenConfig.loadAllAsync(Config::new,
+					asList(paths.get(0), Paths.get("testdata/general/missing.json")), executor).get());
+			assertTrue(e.getCause() instanceof ConfigError);
+			
+			// Dependent stages see the ConfigError itself, not a CompletionException.
+			Throwable error = TomatenConfig.loadAllAsync(Config::new, asList(paths.get(0), Paths.get("testdata/general/missing.json")), executor)
+					.handle((result, t) -> t).get();
+			assertTrue(error instanceof ConfigError);
+			error = TomatenConfig.loadAsync(Config::new, Paths.get("testdata/general/missing.json"), executor).handle((result, t) -> t).get();
+			assertTrue(error instanceof ConfigError);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testToString() {
+		Config config = TomatenConfig.loadEmpty(Config::new).with("a", "x\"y\\z\n").with("b.c", 1).with("b.d", true);
+		assertEquals("[OBJECT]={ a[STRING]=\"x\\\"y\\\\z\\n\", b[OBJECT]={ b.c[INTEGER]=1, b.d[BOOLEAN]=true } }", config.toString());
+		assertEquals("[OBJECT]={ a[STRING]...", config.toString(20, 5));
+		assertEquals("[OBJECT]={ a[STRING]=\"x\\\"y\\\\z\\n\", b[OBJECT]={ ... } }", config.toString(1000, 1));
+		assertEquals("[OBJECT]={ ... }", config.toString(1000, 0));
+		assertEquals(config.toString(), config.toString(Integer.MAX_VALUE, Integer.MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> config.toString(-1, 1));
+		
+		// String values are escaped, so quotes and line breaks cannot break the representation.
+		Config quoted = TomatenConfig.loadEmpty(Config::new).with("q", "say \"hi\"\nbye");
+		assertEquals("q[STRING]=\"say \\\"hi\\\"\\nbye\"", quoted.getData().get("q").toString());
+		assertFalse(quoted.toString().contains("\n"));
+		
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 100000; i++) {
+			sb.append(i > 0 ? ", " : "").append(i);
+		}
+		Config large = TomatenConfig.load(Config::new, sb.append("]").toString(), ConfigType.JSON);
+		assertEquals("[LIST/array]=[ 0[INTEGER/number]=0, 1[IN...", large.toString(40, 1));
+	}
+	
 	@Test
 	public void testFindConfigAmbigous() {
 		assertThrows(ConfigError.class, () -> TomatenConfig.load(Config::new, Paths.get("testdata/general"), "ambigous"));
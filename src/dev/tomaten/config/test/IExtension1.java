@@ -6,7 +6,7 @@ import dev.tomaten.config.IConfig;
 
 public interface IExtension1<Self extends IExtension1<?>> extends IConfig<Self> {
 	
-	public static final ConfigElementTransformer<Integer> TRANSFORMER_MULT_2 = (e, t) -> e.getInt()*2;
+	public static final ConfigElementTransformer<Integer> TRANSFORMER_MULT_2 = ConfigElementTransformer.cacheable((e, t) -> e.getInt()*2);
 	
 	public default ConfigValue<Integer> getMult2() {
 		return this.get(TRANSFORMER_MULT_2);
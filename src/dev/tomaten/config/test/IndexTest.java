@@ -0,0 +1,67 @@
+package dev.tomaten.config.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigIndex;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.TomatenConfig;
+
+class IndexTest {
+	
+	@Test
+	public void testIndexByString() {
+		Config config = TomatenConfig.load(Config::new, "{ routes: [ { id: \"home\", path: \"/\" }, { id: \"login\", path: \"/login\" } ] }", ConfigType.JSON);
+		ConfigIndex<Config> index = config.getList("routes").orError().indexBy("id");
+		assertEquals("id", index.getKey());
+		assertEquals(2, index.size());
+		assertEquals("/login", index.get("login").orError().getString("path").orError());
+		assertEquals("/", index.get("home").orError().getString("path").orError());
+		assertEquals(null, index.get("logout").orNull());
+		assertThrows(ConfigError.class, () -> index.get("logout").orError());
+		assertTrue(index.contains("home"));
+		assertFalse(index.contains("logout"));
+	}
+	
+	@Test
+	public void testIndexByInteger() {
+		Config config = TomatenConfig.load(Config::new, Paths.get("testdata/toml/array-of-tables.toml"));
+		ConfigIndex<Config> index = config.getList("products").orError().indexBy("id");
+		assertEquals("Hammer", index.get(34).orError().getString("name").orError());
+		assertEquals("Nail", index.get("42").orError().getString("name").orError());
+		assertEquals("A nail", config.getList("products").orError().indexBy("metadata.description").get("A nail").orError().getString("name").orError());
+	}
+	
+	@Test
+	public void testIndexDuplicatesAndSkipped() {
+		Config config = TomatenConfig.load(Config::new, "{ users: [ { name: \"a\", n: 1 }, { name: \"b\", n: 2 }, { name: \"a\", n: 3 }, { n: 4 }, 5, { name: [] } ] }", ConfigType.JSON);
+		ConfigIndex<Config> index = config.getList("users").orError().indexBy("name");
+		assertEquals(2, index.size());
+		assertEquals(1, index.get("a").orError().getInt("n").orError());
+		assertEquals("1,3", index.getAll("a").stream().map(c -> c.getString("n").orError()).collect(Collectors.joining(",")));
+		assertEquals(0, index.getAll("c").size());
+	}
+	
+	@Test
+	public void testIndexCached() {
+		Config config = TomatenConfig.load(Config::new, "{ users: [ { name: \"a\" } ] }", ConfigType.JSON);
+		assertSame(config.getList("users").orError().indexBy("name").getValues(), config.getList("users").orError().indexBy("name").getValues());
+	}
+	
+	@Test
+	public void testIndexNotAList() {
+		Config config = TomatenConfig.load(Config::new, "{ users: { name: \"a\" } }", ConfigType.JSON);
+		assertThrows(ConfigError.class, () -> config.getObject("users").orError().indexBy("name"));
+	}
+	
+}
@@ -0,0 +1,139 @@
+package dev.tomaten.config.test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigHolder;
+import dev.tomaten.config.ConfigPatch;
+import dev.tomaten.config.ConfigPath;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.TomatenConfig;
+
+class PatchTest {
+	
+	private static Config load(String input) {
+		return TomatenConfig.load(Config::new, input, ConfigType.JSON);
+	}
+	
+	@Test
+	public void testPublishSubscribe() {
+		ConfigHolder<Config> publisher = new ConfigHolder<>(load("{ db: { host: \"a\", port: 1 }, workers: [1, 2, 3], other: { x: [true] } }"));
+		ConfigHolder<Config> subscriber = new ConfigHolder<>(publisher.get());
+		Queue<ConfigPatch> channel = new ArrayDeque<>();
+		publisher.onChange("", (oldSnapshot, newSnapshot) -> channel.add(ConfigPatch.between(oldSnapshot.getConfig(), newSnapshot.getConfig())));
+		
+		for (String input : asList(
+				"{ db: { host: \"b\", port: 1 }, workers: [1, 2, 3], other: { x: [true] } }",
+				"{ db: { host: \"b\", port: 1 }, workers: [1, 2, 3, 4, 5], other: { x: [true] }, extra: 1.5 }",
+				"{ db: { host: \"b\", port: 1 }, workers: [7], other: { x: [true] } }",
+				"{ db: \"none\", workers: [], other: { x: [true] } }")) {
+			publisher.publish(load(input));
+			ConfigPatch patch = channel.remove();
+			Config before = subscriber.get();
+			Config after = patch.apply(before);
+			subscriber.publish(after);
+			assertEquals(publisher.get(), after);
+			assertSame(before.getData().get("other"), after.getData().get("other"));
+		}
+		assertTrue(channel.isEmpty());
+		ConfigPatch patch = ConfigPatch.between(load("{ db: { host: \"b\" }, workers: [7, 8] }"), load("{ db: \"none\", workers: [9] }"));
+		assertEquals(asList("db", "workers.0", "workers.1"), asList(patch.getOperations().stream().map(op -> op.getPath().toString()).sorted().toArray()));
+		assertTrue(patch.getOperations().stream().anyMatch(op -> op.isRemove() && op.getPath().equals(ConfigPath.of("workers.1"))));
+	}
+	
+	@Test
+	public void testDottedKeys() {
+		Config oldConfig = load("{ hosts: { \"api.example.com\": { port: 1 }, api: { x: 2 }, \"old.key\": 0 } }");
+		Config newConfig = load("{ hosts: { \"api.example.com\": { port: 3 }, api: { x: 2 }, \"new.key\": true } }");
+		ConfigPatch patch = ConfigPatch.between(oldConfig, newConfig);
+		assertEquals(3, patch.getOperations().size());
+		assertTrue(patch.getOperations().stream().anyMatch(op -> !op.isRemove() &&
+				op.getPath().equals(ConfigPath.ofSegments(asList("hosts", "api.example.com", "port")))));
+		assertTrue(patch.getOperations().stream().anyMatch(op -> op.isRemove() && op.getPath().equals(ConfigPath.ofSegments(asList("hosts", "old.key")))));
+		
+		Config result = patch.apply(oldConfig);
+		assertEquals(newConfig, result);
+		assertSame(oldConfig.getData().get("hosts").get("api"), result.getData().get("hosts").get("api"));
+		Config wire = load("[ { op: \"set\", path: [\"hosts\", \"api.example.com\", \"port\"], value: 3 }, " +
+				"{ op: \"set\", path: [\"hosts\", \"new.key\"], value: true }, { op: \"remove\", path: [\"hosts\", \"old.key\"] } ]");
+		assertEquals(newConfig, ConfigPatch.fromConfig(wire).apply(oldConfig));
+		assertThrows(ConfigError.class, () -> ConfigPatch.fromConfig(load("[ { op: \"remove\", path: [\"a\", 1] } ]")));
+		
+		assertEquals(load("{ \"a.b\": 1, a: { b: 2 } }"), ConfigPatch.builder()
+				.set(ConfigPath.ofSegments(asList("a.b")), load("1").getData())
+				.set("a.b", 2)
+				.build().apply(load("{}")));
+		assertThrows(ConfigError.class, () -> ConfigPatch.builder().remove(ConfigPath.ROOT));
+	}
+	
+	@Test
+	public void testBuilder() {
+		Config config = load("{ a: { b: [ { c: 1 } ] }, d: \"x\" }");
+		ConfigPatch patch = ConfigPatch.builder()
+				.set("a.b.0.c", 2)
+				.set("a.b.1", "new")
+				.set("e.f", true)
+				.set("g", config.getObject("a").orError())
+				.remove("d")
+				.build();
+		Config result = patch.apply(config);
+		assertEquals(load("{ a: { b: [ { c: 2 }, \"new\" ] }, e: { f: true }, g: { b: [ { c: 1 } ] } }"), result);
+		assertEquals("a.b.0.c", result.getData().get("a").get("b").get(0).get("c").getFullName());
+		assertEquals("g.b.0.c", result.getData().get("g").get("b").get(0).get("c").getFullName());
+		assertEquals(2, result.getInt("a.b.0.c").orError());
+		
+		// The original config is not modified.
+		assertEquals(1, config.getInt("a.b.0.c").orError());
+		assertSame(config, ConfigPatch.builder().remove("missing.x").build().apply(config));
+		
+		assertThrows(ConfigError.class, () -> ConfigPatch.builder().set("d.x", 1).build().apply(config));
+		assertThrows(ConfigError.class, () -> ConfigPatch.builder().set("a.b.2", 1).build().apply(config));
+		assertThrows(ConfigError.class, () -> ConfigPatch.builder().remove(""));
+	}
+	
+	@Test
+	public void testFromConfig() {
+		Config wire = load("[ { op: \"set\", path: \"a.b\", value: { c: [1, 2.5] } }, { op: \"remove\", path: \"d\" } ]");
+		ConfigPatch patch = ConfigPatch.fromConfig(wire);
+		assertEquals(2, patch.getOperations().size());
+		Config result = patch.apply(load("{ a: { b: 0 }, d: 1 }"));
+		assertEquals(load("{ a: { b: { c: [1, 2.5] } } }"), result);
+		assertEquals("a.b.c.1", result.getData().get("a").get("b").get("c").get(1).getFullName());
+		
+		assertThrows(ConfigError.class, () -> ConfigPatch.fromConfig(load("[ { op: \"move\", path: \"a\" } ]")));
+	}
+	
+	@Test
+	public void testWith() {
+		Config config = load("{ tenant: { limits: { cpu: 1, mem: 2 }, name: \"a\" }, shared: { big: [1, 2, 3] }, list: [ { x: 1 }, { x: 2 }, { x: 3 } ] }");
+		Config derived = config.with("tenant.limits.cpu", 4).with("tenant.flags.beta", true).with("tenant.ratio", 0.5).with("tenant.name", "b");
+		assertEquals(load("{ tenant: { limits: { cpu: 4, mem: 2 }, flags: { beta: true }, ratio: 0.5, name: \"b\" }, shared: { big: [1, 2, 3] }, " +
+				"list: [ { x: 1 }, { x: 2 }, { x: 3 } ] }"), derived);
+		assertEquals(1, config.getInt("tenant.limits.cpu").orError());
+		assertSame(config.getData().get("shared"), derived.getData().get("shared"));
+		assertSame(config.getData().get("list"), derived.getData().get("list"));
+		assertEquals("tenant.flags.beta", derived.getData().get("tenant").get("flags").get("beta").getFullName());
+		
+		Config removed = config.without("list.0").without("tenant.limits");
+		assertEquals(load("{ tenant: { name: \"a\" }, shared: { big: [1, 2, 3] }, list: [ { x: 2 }, { x: 3 } ] }"), removed);
+		assertEquals("list.0.x", removed.getData().get("list").get(0).get("x").getFullName());
+		assertSame(config.getData().get("shared"), removed.getData().get("shared"));
+		assertEquals(config, config.without("missing"));
+		
+		Config sub = config.getObject("tenant").orError().with("limits.cpu", config.getData().get("shared"));
+		assertEquals("tenant.limits.cpu.big", sub.getData().get("limits").get("cpu").get("big").getFullName());
+		
+		assertThrows(ConfigError.class, () -> config.with("tenant.name.x", 1));
+		assertThrows(ConfigError.class, () -> config.without(""));
+	}
+}
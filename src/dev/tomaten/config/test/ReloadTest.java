@@ -0,0 +1,396 @@
+package dev.tomaten.config.test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigDirectory;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigHolder;
+import dev.tomaten.config.ConfigLoader;
+import dev.tomaten.config.ConfigPath;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.ReloadingConfig;
+import dev.tomaten.config.TomatenConfig;
+
+class ReloadTest {
+	private Path dir;
+	
+	@BeforeEach
+	public void createDir() throws IOException {
+		this.dir = Files.createTempDirectory("tomatenconfig");
+	}
+	
+	@AfterEach
+	public void deleteDir() throws IOException {
+		try (Stream<Path> files = Files.walk(this.dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+	}
+	
+	private void write(String fileName, String content) throws IOException {
+		Files.write(this.dir.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void testHolder() {
+		Config first = TomatenConfig.load(Config::new, "{ db: { host: \"a\", port: 1 } }", ConfigType.JSON);
+		Config second = TomatenConfig.load(Config::new, "{ db: { host: \"b\", port: 2 } }", ConfigType.JSON);
+		ConfigHolder<Config> holder = new ConfigHolder<>(first);
+		assertEquals(1, holder.getVersion());
+		
+		ConfigHolder.Snapshot<Config> pinned = holder.pin();
+		ConfigHolder.Snapshot<Config> published = holder.publish(second);
+		assertEquals(2, published.getVersion());
+		assertEquals(2, holder.getVersion());
+		assertSame(second, holder.get());
+		
+		// The pinned snapshot still reads the old version
+		assertEquals(1, pinned.getVersion());
+		assertEquals("a", pinned.getConfig().getString("db.host").orError());
+		assertEquals(1, pinned.getConfig().getInt("db.port").orError());
+		
+		// The pinned snapshot is outdated
+		assertNull(holder.compareAndPublish(pinned, first));
+		assertEquals(3, holder.compareAndPublish(published, first).getVersion());
+		assertSame(first, holder.get());
+	}
+	
+	@Test
+	public void testHistory() {
+		Config first = TomatenConfig.load(Config::new, "{ a: 1, shared: { x: [1, 2] } }", ConfigType.JSON);
+		ConfigHolder<Config> holder = new ConfigHolder<>(first);
+		assertNull(holder.rollback());
+		holder.setHistorySize(2);
+		Config second = first.with("a", 2);
+		Config third = second.with("a", 3);
+		Config fourth = third.with("a", 4);
+		holder.publish(second);
+		holder.publish(third);
+		holder.publish(fourth);
+		assertEquals(2, holder.getHistory().size());
+		assertSame(third, holder.getHistory().get(0).getConfig());
+		assertSame(second, holder.getHistory().get(1).getConfig());
+		
+		List<String> notified = new ArrayList<>();
+		holder.onChange("a", (o, n) -> notified.add(o.getConfig().getInt("a").orError() + "->" + n.getConfig().getInt("a").orError()));
+		ConfigHolder.Snapshot<Config> rolledBack = holder.rollback();
+		assertEquals(5, rolledBack.getVersion());
+		assertSame(third, holder.get());
+		assertSame(second, holder.rollback().getConfig());
+		assertNull(holder.rollback());
+		assertSame(second, holder.get());
+		assertEquals(asList("4->3", "3->2"), notified);
+		
+		holder.setHistorySize(0);
+		holder.publish(first);
+		assertNull(holder.rollback());
+	}
+	
+	@Test
+	public void testChangeListeners() {
+		ConfigHolder<Config> holder = new ConfigHolder<>(TomatenConfig.load(Config::new,
+				"{ pools: { http: { size: 4 }, db: { size: 2 } }, list: [1, 2], name: \"x\" }", ConfigType.JSON));
+		List<String> notified = new ArrayList<>();
+		holder.onChange("", (o, n) -> notified.add("root"));
+		holder.onChange("pools", (o, n) -> notified.add("pools"));
+		holder.onChange("pools.http", (o, n) -> notified.add("http:" + n.getConfig().getInt("pools.http.size").orError()));
+		holder.onChange("pools.db", (o, n) -> notified.add("db"));
+		holder.onChange("pools.db.size", (o, n) -> notified.add("db.size"));
+		ConfigHolder<Config>.Subscription list = holder.onChange("list", (o, n) -> notified.add("list"));
+		
+		holder.publish(TomatenConfig.load(Config::new, "{ pools: { http: { size: 8 }, db: { size: 2 } }, list: [1, 2], name: \"x\" }", ConfigType.JSON));
+		assertEquals(asList("root", "pools", "http:8"), notified);
+		
+		notified.clear();
+		holder.publish(TomatenConfig.load(Config::new, "{ pools: { http: { size: 8 }, db: 5 }, list: [1, 2, 3], name: \"x\" }", ConfigType.JSON));
+		assertEquals(asList("root", "pools", "db", "db.size", "list"), notified);
+		
+		notified.clear();
+		list.close();
+		holder.publish(TomatenConfig.load(Config::new, "{ pools: { http: { size: 8 }, db: 5 }, list: [], name: \"y\" }", ConfigType.JSON));
+		assertEquals(asList("root"), notified);
+		
+		// A path can be subscribed again after all of its subscriptions have been closed.
+		notified.clear();
+		holder.onChange("list", (o, n) -> notified.add("list again"));
+		holder.publish(TomatenConfig.load(Config::new, "{ pools: { http: { size: 8 }, db: 5 }, list: [1], name: \"y\" }", ConfigType.JSON));
+		assertEquals(asList("root", "list again"), notified);
+		
+		notified.clear();
+		holder.publish(holder.get());
+		assertEquals(asList(), notified);
+	}
+	
+	@Test
+	public void testDottedChangeListeners() {
+		ConfigHolder<Config> holder = new ConfigHolder<>(TomatenConfig.load(Config::new, "{ \"a.b\": 1, a: { b: 2, c: 3 } }", ConfigType.JSON));
+		List<String> notified = new ArrayList<>();
+		holder.onChange(ConfigPath.ofSegments(asList("a.b")), (o, n) -> notified.add("dotted"));
+		holder.onChange("a", (o, n) -> notified.add("a"));
+		holder.onChange("a.b", (o, n) -> notified.add("nested"));
+		
+		holder.publish(TomatenConfig.load(Config::new, "{ \"a.b\": 4, a: { b: 2, c: 3 } }", ConfigType.JSON));
+		assertEquals(asList("dotted"), notified);
+		
+		notified.clear();
+		holder.publish(TomatenConfig.load(Config::new, "{ \"a.b\": 4, a: { b: 5, c: 3 } }", ConfigType.JSON));
+		assertEquals(asList("a", "nested"), notified);
+		
+		notified.clear();
+		holder.publish(TomatenConfig.load(Config::new, "{ \"a.b\": 4, a: 0 }", ConfigType.JSON));
+		assertEquals(asList("a", "nested"), notified);
+	}
+	
+	@Test
+	public void testReload() throws IOException {
+		this.write("app.json", "{ timeout: 5 }");
+		try (ReloadingConfig<Config> config = TomatenConfig.watch(Config::new, this.dir.resolve("app.json"))) {
+			Config first = config.get();
+			assertEquals(5, first.getInt("timeout").orError());
+			
+			assertEquals(1, config.getVersion());
+			assertFalse(config.reload());
+			assertSame(first, config.get());
+			
+			this.write("app.json", "{ timeout: 10, pool: { size: 4 } }");
+			assertTrue(config.reload());
+			this.write("app.json", "{ timeout: 10, pool: { size: 4 }, name: \"x\" }");
+			Config withPool = config.get();
+			assertTrue(config.reload());
+			assertSame(withPool.getData().get("pool"), config.get().getData().get("pool"));
+			config.setHistorySize(1);
+			this.write("app.json", "{ timeout: 10 }");
+			assertTrue(config.reload());
+			assertEquals(4, config.getVersion());
+			assertEquals("x", config.rollback().getConfig().getString("name").orError());
+			assertEquals(5, config.getVersion());
+			assertEquals(10, config.get().getInt("timeout").orError());
+			assertEquals(5, first.getInt("timeout").orError());
+			
+			// Invalid content keeps the current config
+			this.write("app.json", "{ timeout: ");
+			assertThrows(ConfigError.class, () -> config.reload());
+			assertEquals(10, config.get().getInt("timeout").orError());
+		}
+	}
+	
+	@Test
+	public void testWatch() throws IOException, InterruptedException {
+		this.write("app.json", "{ timeout: 5 }");
+		try (ReloadingConfig<Config> config = TomatenConfig.watch(Config::new, this.dir, "app")) {
+			assertEquals(5, config.get().getInt("timeout").orError());
+			this.write("other.json", "{}");
+			this.write("app.json", "{ timeout: 7 }");
+			long end = System.currentTimeMillis() + 10000;
+			while (config.get().getInt("timeout").orError() != 7 && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertEquals(7, config.get().getInt("timeout").orError());
+		}
+	}
+	
+	@Test
+	public void testReloadOriginalType() throws IOException, InterruptedException {
+		this.write("app.toml", "start = \"2025-01-01\"\nname = \"x\"\n");
+		try (ReloadingConfig<Config> config = TomatenConfig.watch(Config::new, this.dir.resolve("app.toml"))) {
+			assertEquals("string", config.get().getData().get("start").getOriginalType());
+			List<String> notified = new ArrayList<>();
+			config.onChange("start", (o, n) -> notified.add(n.getConfig().getData().get("start").getOriginalType()));
+			config.onChange("name", (o, n) -> notified.add("name"));
+			
+			// The value is equal, but it is a date now.
+			this.write("app.toml", "start = 2025-01-01\nname = \"x\"\n");
+			long end = System.currentTimeMillis() + 10000;
+			while (notified.isEmpty() && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertEquals(asList("date-local"), notified);
+			assertEquals("date-local", config.get().getData().get("start").getOriginalType());
+			assertFalse(config.reload());
+		}
+	}
+	
+	@Test
+	public void testWatchSymlinkSwap() throws IOException, InterruptedException {
+		// The layout of a Kubernetes ConfigMap volume. Only the ..data link is replaced on updates.
+		Files.createDirectory(this.dir.resolve("..v1"));
+		this.write("..v1/app.json", "{ timeout: 5 }");
+		Files.createSymbolicLink(this.dir.resolve("..data"), this.dir.resolve("..v1").getFileName());
+		Files.createSymbolicLink(this.dir.resolve("app.json"), this.dir.resolve("..data").getFileName().resolve("app.json"));
+		
+		try (ReloadingConfig<Config> config = TomatenConfig.watch(Config::new, this.dir.resolve("app.json"))) {
+			assertEquals(5, config.get().getInt("timeout").orError());
+			Files.createDirectory(this.dir.resolve("..v2"));
+			this.write("..v2/app.json", "{ timeout: 7 }");
+			Files.createSymbolicLink(this.dir.resolve("..data_tmp"), this.dir.resolve("..v2").getFileName());
+			Files.move(this.dir.resolve("..data_tmp"), this.dir.resolve("..data"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			long end = System.currentTimeMillis() + 10000;
+			while (config.get().getInt("timeout").orError() != 7 && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertEquals(7, config.get().getInt("timeout").orError());
+		}
+	}
+	
+	@Test
+	public void testWatchFailingErrorHandler() throws IOException, InterruptedException {
+		this.write("app.json", "{ timeout: 5 }");
+		try (ReloadingConfig<Config> config = TomatenConfig.watch(Config::new, this.dir.resolve("app.json"))) {
+			AtomicInteger errors = new AtomicInteger();
+			config.setErrorHandler(e -> {
+				errors.incrementAndGet();
+				throw new IllegalStateException("handler failed");
+			});
+			this.write("app.json", "{ timeout: ");
+			long end = System.currentTimeMillis() + 10000;
+			while (errors.get() == 0 && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertTrue(errors.get() > 0);
+			
+			// The file is still watched.
+			this.write("app.json", "{ timeout: 7 }");
+			end = System.currentTimeMillis() + 10000;
+			while (config.get().getInt("timeout").orError() != 7 && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertEquals(7, config.get().getInt("timeout").orError());
+		}
+	}
+	
+	@Test
+	public void testDirectory() throws IOException, InterruptedException {
+		this.write("a.json", "{ x: 1 }");
+		this.write("b.toml.bak", "");
+		try (ConfigDirectory directory = TomatenConfig.openDirectory(this.dir)) {
+			assertEquals(1, directory.load(Config::new, "a").getInt("x").orError());
+			assertEquals(this.dir.resolve("a.json"), directory.find("a"));
+			assertNull(directory.find("b"));
+			assertThrows(ConfigError.class, () -> directory.load(Config::new, "b"));
+			
+			this.write("b.json", "{ x: 2 }");
+			this.write("a.js", "{ x: 3 }");
+			long end = System.currentTimeMillis() + 10000;
+			while (directory.find("b") == null && System.currentTimeMillis() < end) {
+				Thread.sleep(20);
+			}
+			assertEquals(2, directory.load(Config::new, "b").getInt("x").orError());
+			assertEquals(new HashSet<>(asList("a", "b")), directory.getBaseNames());
+			assertThrows(ConfigError.class, () -> directory.find("a"));
+		}
+	}
+	
+	@Test
+	public void testDirectoryListingFails() throws IOException, InterruptedException {
+		Path configDir = Files.createDirectory(this.dir.resolve("config"));
+		Path movedDir = this.dir.resolve("moved");
+		Files.write(configDir.resolve("a.json"), "{ x: 1 }".getBytes(StandardCharsets.UTF_8));
+		try (ConfigDirectory directory = TomatenConfig.openDirectory(configDir)) {
+			assertEquals(configDir.resolve("a.json"), directory.find("a"));
+			
+			// The directory cannot be listed after the change has been reported.
+			Files.write(configDir.resolve("b.json"), "{ x: 2 }".getBytes(StandardCharsets.UTF_8));
+			Files.move(configDir, movedDir);
+			boolean failed = false;
+			long end = System.currentTimeMillis() + 10000;
+			while (!failed && System.currentTimeMillis() < end) {
+				try {
+					assertNull(directory.find("b"));
+					Thread.sleep(20);
+				} catch (ConfigError e) {
+					failed = true;
+				}
+			}
+			assertTrue(failed);
+			
+			// The change is not lost.
+			Files.move(movedDir, configDir);
+			assertEquals(configDir.resolve("b.json"), directory.find("b"));
+		}
+	}
+	
+	@Test
+	public void testParseCache() throws IOException {
+		Path cacheDir = this.dir.resolve("cache");
+		this.write("a.json", "{ db: { host: \"a\", port: 5432 }, ratio: -0.5, flags: [true, false], names: [\"x\", \"x\"], big: -9000000000 }");
+		this.write("b.json", "{ other: 1 }");
+		Config parsed = TomatenConfig.load(Config::new, this.dir.resolve("a.json"));
+		
+		Config a = new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("a.json"));
+		assertEquals(parsed, a);
+		Path aEntry;
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			aEntry = files.findFirst().get();
+		}
+		
+		// The cached tree is equal to the parsed one, including names and original types.
+		Config cached = new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("a.json"));
+		assertEquals(parsed, cached);
+		assertEquals("db.port", cached.getData().get("db").get("port").getFullName());
+		assertEquals(parsed.getData().get("db").get("port").getOriginalType(), cached.getData().get("db").get("port").getOriginalType());
+		assertEquals(parsed.getData().getName(), cached.getData().getName());
+		
+		// The cached entry is used instead of parsing the file.
+		new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("b.json"));
+		Path bEntry;
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			bEntry = files.filter(p -> !p.equals(aEntry)).findFirst().get();
+		}
+		Files.copy(bEntry, aEntry, StandardCopyOption.REPLACE_EXISTING);
+		assertEquals(1, new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("a.json")).getInt("other").orError());
+		
+		// A damaged entry is replaced.
+		Files.write(aEntry, new byte[] { 'T', 'C', 'F', 'G', 1, 5 });
+		assertEquals(parsed, new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("a.json")));
+		assertEquals(parsed, new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("a.json")));
+		
+		// Modified files get another entry.
+		this.write("a.json", "{ db: 1 }");
+		assertEquals(1, new ConfigLoader(cacheDir).load(Config::new, this.dir.resolve("a.json")).getInt("db").orError());
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			assertEquals(3, files.count());
+		}
+	}
+	
+	@Test
+	public void testParseCacheMalformed() throws IOException {
+		Path cacheDir = this.dir.resolve("cache");
+		Path file = this.dir.resolve("a.json");
+		Files.write(file, new byte[] { '{', 'a', ':', '"', (byte) 0xFF, '"', '}' });
+		assertThrows(ConfigError.class, () -> TomatenConfig.load(Config::new, file));
+		
+		// Malformed UTF-8 is not replaced, so the file is neither loaded nor cached.
+		assertThrows(ConfigError.class, () -> new ConfigLoader(cacheDir).load(Config::new, file));
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			assertEquals(0, files.count());
+		}
+	}
+	
+	@Test
+	public void testWatchMissing() {
+		assertThrows(ConfigError.class, () -> TomatenConfig.watch(Config::new, this.dir.resolve("missing.json")));
+		assertTrue(Files.isDirectory(this.dir));
+	}
+}
@@ -192,6 +192,10 @@ class TOMLConfigTest {
 		assertEquals(LocalDate.of(2025, Month.MARCH, 9), config.getLocalDate("owner.date").orError());
 		assertEquals(LocalTime.of(16, 45, 12), config.getLocalTime("owner.time").orError());
 		assertEquals(ZonedDateTime.of(2025, 3, 9, 16, 42, 45, 0, ZoneId.of("Z")), config.getDateTime("owner.datetime").orError());
+		assertEquals("2025-03-09", config.getString("owner.date").orError());
+		assertEquals("2025-03-09T16:42:45Z", config.getString("owner.datetime").orError());
+		assertEquals("datetime", config.getObject("owner").orError().get("datetime", (e, t) -> e.getOriginalType()).orError());
+		assertThrows(ConfigError.class, () -> config.getLocalTime("owner.date").orError());
 		
 		Config database = config.getObject("database").orError();
 		assertEquals("192.168.1.1", database.getString("server").orError());
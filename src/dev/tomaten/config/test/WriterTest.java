@@ -0,0 +1,90 @@
+package dev.tomaten.config.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tomaten.config.Config;
+import dev.tomaten.config.ConfigError;
+import dev.tomaten.config.ConfigType;
+import dev.tomaten.config.ConfigWriter;
+import dev.tomaten.config.TomatenConfig;
+
+class WriterTest {
+	
+	private static Config load(String input) {
+		return TomatenConfig.load(Config::new, input, ConfigType.JSON);
+	}
+	
+	private static String json(ConfigWriter writer, Config config) {
+		StringBuilder sb = new StringBuilder();
+		writer.writeJSON(config, sb);
+		return sb.toString();
+	}
+	
+	private static String toml(ConfigWriter writer, Config config) {
+		StringBuilder sb = new StringBuilder();
+		writer.writeTOML(config, sb);
+		return sb.toString();
+	}
+	
+	@Test
+	public void testJSON() {
+		Config config = load("{ b: [1, 2.5, true, \"x\"], a: { c: {}, d: [] } }");
+		ConfigWriter sorted = ConfigWriter.COMPACT.withSortedKeys(true);
+		assertEquals("{\"a\":{\"c\":{},\"d\":[]},\"b\":[1,2.5,true,\"x\"]}", json(sorted, config));
+		assertEquals("{\n\t\"a\": {\n\t\t\"c\": {},\n\t\t\"d\": []\n\t},\n\t\"b\": [\n\t\t1,\n\t\t2.5,\n\t\ttrue,\n\t\t\"x\"\n\t]\n}\n",
+				json(sorted.withPretty(true), config));
+		
+		// The output can be read again.
+		assertEquals(config, load(json(ConfigWriter.PRETTY, config)));
+		assertEquals(config, load(json(ConfigWriter.COMPACT, config)));
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		sorted.writeJSON(config, out);
+		assertEquals(json(sorted, config), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void testEscape() {
+		Config config = TomatenConfig.loadEmpty(Config::new).with("k\"ey", "a\"b\\c\nd\te\u0001\u00e4");
+		assertEquals("{\"k\\\"ey\":\"a\\\"b\\\\c\\nd\\te\\u0001\u00e4\"}", json(ConfigWriter.COMPACT, config));
+		assertEquals("\"k\\\"ey\"=\"a\\\"b\\\\c\\nd\\te\\u0001\u00e4\"\n", toml(ConfigWriter.COMPACT, config));
+	}
+	
+	@Test
+	public void testTOML() {
+		Config config = load("{ title: \"x\", db: { host: \"h\", ports: [1, 2], pool: { size: 5 } }, " +
+				"servers: [ { name: \"a\", tags: [ { t: 1 } ] }, { name: \"b\" } ], matrix: [ [ { m: 1 } ], 2 ], " +
+				"nested: { only: { x: 1 } }, \"a b\": 1.5, empty: {} }");
+		ConfigWriter writer = ConfigWriter.PRETTY.withSortedKeys(true);
+		assertEquals(
+				"\"a b\" = 1.5\n" +
+				"matrix = [[{ m = 1 }], 2]\n" +
+				"title = \"x\"\n" +
+				"\n[db]\n" +
+				"host = \"h\"\n" +
+				"ports = [1, 2]\n" +
+				"\n[db.pool]\n" +
+				"size = 5\n" +
+				"\n[empty]\n" +
+				"\n[nested.only]\n" +
+				"x = 1\n" +
+				"\n[[servers]]\n" +
+				"name = \"a\"\n" +
+				"\n[[servers.tags]]\n" +
+				"t = 1\n" +
+				"\n[[servers]]\n" +
+				"name = \"b\"\n", toml(writer, config));
+		assertEquals("\"a b\"=1.5\nmatrix=[[{m=1}],2]\ntitle=\"x\"\n[db]\nhost=\"h\"\nports=[1,2]\n[db.pool]\nsize=5\n[empty]\n[nested.only]\nx=1\n" +
+				"[[servers]]\nname=\"a\"\n[[servers.tags]]\nt=1\n[[servers]]\nname=\"b\"\n", toml(writer.withPretty(false), config));
+		
+		assertThrows(ConfigError.class, () -> toml(ConfigWriter.PRETTY, load("[1]")));
+		assertThrows(ConfigError.class, () -> json(ConfigWriter.PRETTY, config.with("x", Double.NaN)));
+		assertEquals("x = nan\n", toml(ConfigWriter.PRETTY, load("{}").with("x", Double.NaN)));
+	}
+}